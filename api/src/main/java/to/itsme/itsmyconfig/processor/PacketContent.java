@@ -4,8 +4,25 @@ import net.kyori.adventure.text.Component;
 
 public record PacketContent<C>(C container, PacketProcessor<C> processor, String message) {
 
+    /**
+     * Creates a content without a message, for packets that have nothing to process.
+     */
+    public static <C> PacketContent<C> empty(final C container, final PacketProcessor<C> processor) {
+        return new PacketContent<>(container, processor, "");
+    }
+
     public void save(final Component component) {
-        this.processor.edit(container, component);
+        this.save(component, false);
+    }
+
+    /**
+     * Saves the translated component into the packet.
+     *
+     * @param component the translated component
+     * @param shared whether the component is the translation shared by every recipient
+     */
+    public void save(final Component component, final boolean shared) {
+        this.processor.edit(container, component, shared);
     }
 
     public boolean isEmpty() {
@@ -1,5 +1,8 @@
 package to.itsme.itsmyconfig.processor;
 
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
 /**
  * Represents a packet listener.
  */
@@ -17,6 +20,17 @@ public interface PacketListener {
      */
     void load();
 
+    /**
+     * Sends an already translated message to a player without it going through the listener.
+     *
+     * @param player The player.
+     * @param component The translated message.
+     * @return Whether the message was sent, {@code false} if it has to be sent the usual way.
+     */
+    default boolean sendSilently(final Player player, final Component component) {
+        return false;
+    }
+
     /**
      * Closes the packet listener.
      */
@@ -25,6 +25,17 @@ public interface PacketProcessor<C> {
      */
     void edit(final C container, final Component component);
 
+    /**
+     * Edits the packet container with the given component.
+     *
+     * @param container The packet container.
+     * @param component The component to edit with.
+     * @param shared Whether the component is the translation shared by every recipient, whose encodings may be reused.
+     */
+    default void edit(final C container, final Component component, final boolean shared) {
+        this.edit(container, component);
+    }
+
     /**
      * Unpacks the packet container into a {@link PacketContent}.
      *
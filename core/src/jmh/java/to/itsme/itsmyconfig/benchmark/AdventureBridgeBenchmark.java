@@ -0,0 +1,63 @@
+package to.itsme.itsmyconfig.benchmark;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.openjdk.jmh.annotations.*;
+import to.itsme.itsmyconfig.util.AdventureBridge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the structural component bridge against the json round trip it replaces.
+ * Benchmarks run without relocation, so the "server" components share the plugin's classes,
+ * the costs of walking and rebuilding the trees stay the same.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AdventureBridgeBenchmark {
+
+    private final GsonComponentSerializer gson = GsonComponentSerializer.gson();
+
+    private Component relocated;
+    private Object server;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.relocated = Component.text()
+                .append(Component.text("[Server] ", NamedTextColor.GOLD, TextDecoration.BOLD))
+                .append(Component.text("Welcome back, ", NamedTextColor.GRAY))
+                .append(Component.text("Player", TextColor.color(0x55AAFF))
+                        .hoverEvent(HoverEvent.showText(Component.text("Click to message")))
+                        .clickEvent(ClickEvent.suggestCommand("/msg Player ")))
+                .append(Component.translatable("chat.type.text", Component.text("a"), Component.keybind("key.jump")))
+                .build();
+        this.server = AdventureBridge.toNative(this.relocated);
+    }
+
+    @Benchmark
+    public Object toServerStructural() {
+        return AdventureBridge.toNative(relocated);
+    }
+
+    @Benchmark
+    public Object toServerJson() {
+        return gson.deserialize(gson.serialize(relocated));
+    }
+
+    @Benchmark
+    public Component fromServerStructural() {
+        return AdventureBridge.fromNative(server);
+    }
+
+    @Benchmark
+    public Component fromServerJson() {
+        return gson.deserialize(gson.serialize((Component) server));
+    }
+
+}
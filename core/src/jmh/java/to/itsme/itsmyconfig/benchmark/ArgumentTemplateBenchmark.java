@@ -0,0 +1,60 @@
+package to.itsme.itsmyconfig.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares filling a compiled {@link ArgumentTemplate} with the per-argument regex replacement it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ArgumentTemplateBenchmark {
+
+    @Param({"0", "1", "4"})
+    private int arguments;
+
+    private String message;
+    private Set<Integer> registered;
+    private ArgumentTemplate template;
+    private String[] params;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final StringBuilder builder = new StringBuilder("<gold>Welcome back");
+        params = new String[arguments];
+        for (int i = 0; i < arguments; i++) {
+            builder.append(", <gray>{").append(i).append("}</gray>");
+            params[i] = "value$" + i;
+        }
+        message = builder.append("! <yellow>Have a nice stay.").toString();
+        registered = new HashSet<>(Strings.getArguments(message));
+        template = ArgumentTemplate.compile(message);
+    }
+
+    @Benchmark
+    public String template() {
+        return template.apply(params, 0);
+    }
+
+    @Benchmark
+    public String replaceAll() {
+        if (registered.isEmpty() || params.length == 0) {
+            return message;
+        }
+
+        String output = message;
+        for (final Integer argument : registered) {
+            if (argument >= params.length) continue;
+            output = output.replaceAll(Pattern.quote("{" + argument + "}"), params[argument].replace("$", "\\$"));
+        }
+        return output;
+    }
+
+}
@@ -0,0 +1,58 @@
+package to.itsme.itsmyconfig.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import to.itsme.itsmyconfig.font.MappedFont;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the table lookups of {@link MappedFont} with the normalizing, boxed-map implementation they replace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FontBenchmark {
+
+    @Param({"ascii", "accents"})
+    private String scenario;
+
+    private String text;
+    private Map<Character, Character> characterMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        text = switch (scenario) {
+            case "ascii" -> "Kills: 12 | Deaths: 3 | Coins: 4,520 | play.example.net";
+            case "accents" -> "Bienvenue à l'hôtel, café gratuit pour les élèves !";
+            default -> throw new IllegalArgumentException(scenario);
+        };
+
+        final String original = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        final String replacements = "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢ";
+        characterMap = new HashMap<>();
+        for (int i = 0; i < original.length(); i++) {
+            characterMap.put(original.charAt(i), replacements.charAt(i));
+        }
+    }
+
+    @Benchmark
+    public String table() {
+        return MappedFont.SMALL_CAPS.apply(text);
+    }
+
+    @Benchmark
+    public String normalizedMap() {
+        final byte[] bytes = Strings.englishify(text).getBytes(StandardCharsets.UTF_8);
+        final StringBuilder builder = new StringBuilder();
+        for (final byte messageByte : bytes) {
+            final char originalChar = (char) messageByte;
+            builder.append(characterMap.getOrDefault(originalChar, originalChar));
+        }
+        return builder.toString();
+    }
+
+}
@@ -1,25 +1,70 @@
 package to.itsme.itsmyconfig.benchmark;
 
 import org.openjdk.jmh.annotations.*;
+import to.itsme.itsmyconfig.util.PrefixProfile;
 import to.itsme.itsmyconfig.util.Strings;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Compares {@link Strings#parsePrefixedMessage(String)} with the allocation-free API,
+ * run with the gc profiler to see the allocation rates.
+ * The amount of prefix profiles shouldn't change the timings, they're all matched at once.
+ */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 @State(Scope.Thread)
 public class ParsePrefixedMessageBenchmark {
 
-    private final String testMessage = "  &a <bold> $test message §with colors</bold> and more text";
+    @Param({"hit", "miss", "long", "incognito"})
+    private String scenario;
+
+    @Param({"1", "8"})
+    private int profiles;
+
+    private String testMessage;
+    private final StringBuilder buffer = new StringBuilder(512);
 
     @Setup(Level.Trial)
     public void setup() {
         Strings.setSymbolPrefix("$");
+        final List<PrefixProfile> extra = new ArrayList<>();
+        for (int i = 1; i < profiles; i++) {
+            extra.add(new PrefixProfile("profile-" + i, "!" + i, i % 2 == 0, false));
+        }
+        Strings.setPrefixProfiles(extra);
+        testMessage = switch (scenario) {
+            case "hit" -> "  &a <bold> $test message §with colors</bold> and more text";
+            case "miss" -> "  &a <bold> test message §with colors</bold> and more text";
+            case "long" -> "&a<bold>$" + "<gray>A long message §ewith §lsome formatting, ".repeat(20) + "</bold>";
+            case "incognito" -> "{$}<red>Hidden {$}prefixes §cin {$}between";
+            default -> throw new IllegalArgumentException(scenario);
+        };
     }
 
     @Benchmark
     public Optional<String> benchmarkParsePrefixedMessage() {
         return Strings.parsePrefixedMessage(testMessage);
     }
+
+    @Benchmark
+    public int benchmarkPrefixIndex() {
+        return Strings.prefixIndex(testMessage);
+    }
+
+    @Benchmark
+    public int benchmarkAppendUnprefixed() {
+        final int index = Strings.prefixIndex(testMessage);
+        if (index < 0) {
+            return -1;
+        }
+
+        buffer.setLength(0);
+        Strings.appendUnprefixed(testMessage, index, buffer);
+        return buffer.length();
+    }
+
 }
@@ -0,0 +1,105 @@
+package to.itsme.itsmyconfig.benchmark;
+
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.openjdk.jmh.annotations.*;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the single-pass {@link Strings#quote(String)} with the regexes it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class QuoteBenchmark {
+
+    private static final Pattern QUOTE_PATTERN = Pattern.compile("<quote(?::([^>]*))?>(.*)</quote>");
+    private static final Pattern TAG_PATTERN = Pattern.compile("<(\\w+)(?::\"([^\"]*)\"|:([^<]*))*>");
+
+    @Param({"none", "plain", "properties", "long"})
+    private String scenario;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        text = switch (scenario) {
+            case "none" -> "<gold>Welcome back, <p:player_name>! <gray>You have <red>3</red> new messages.";
+            case "plain" -> "<gray>Player said: <quote><bold>hello</bold> <click:run_command:/spawn>there</click></quote>";
+            case "properties" -> "<quote:ignorecolors:ignoreclickables><red>Hi</red> <bold>x</bold> <click:open_url:'https://x'>y</click></quote>";
+            case "long" -> "<quote>" + "<red>Some <bold>quoted</bold> text:with:colons <#ff0000>and hex</#ff0000> ".repeat(20) + "</quote>";
+            default -> throw new IllegalArgumentException(scenario);
+        };
+    }
+
+    @Benchmark
+    public String quote() {
+        return Strings.quote(text);
+    }
+
+    @Benchmark
+    public String quoteRegex() {
+        final Matcher matcher = QUOTE_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        int lastEnd = 0;
+        matcher.reset();
+        while (matcher.find()) {
+            builder.append(text, lastEnd, matcher.start());
+            final String propertyString = matcher.group(1) != null ? matcher.group(1) : "";
+            final Set<String> properties = propertyString.isEmpty() ? Collections.emptySet() : Set.of(propertyString.toLowerCase().split(":"));
+            builder.append(escapeTagsRegex(matcher.group(2), properties));
+            lastEnd = matcher.end();
+        }
+
+        builder.append(text.substring(lastEnd));
+        return builder.toString();
+    }
+
+    private static String escapeTagsRegex(final String text, final Set<String> properties) {
+        final Matcher matcher = TAG_PATTERN.matcher(text);
+        final StringBuilder builder = new StringBuilder();
+        int lastEnd = 0;
+        while (matcher.find()) {
+            final String found = matcher.group();
+            final String content = found.substring(1, found.length() - 1);
+
+            boolean skip = false;
+            if (properties.contains("ignorecolors") && hasAny(content, true)) {
+                skip = true;
+            } else if (properties.contains("ignoredecorations") && hasAny(content, false)) {
+                skip = true;
+            } else if (properties.contains("ignoreclickables") && content.toLowerCase().startsWith("click")) {
+                skip = true;
+            }
+
+            builder.append(text, lastEnd, matcher.start());
+            if (!skip) {
+                builder.append('\\');
+            }
+            builder.append(found);
+            lastEnd = matcher.end();
+        }
+
+        builder.append(text.substring(lastEnd));
+        return builder.toString();
+    }
+
+    private static boolean hasAny(final String content, final boolean colors) {
+        for (final String split : content.split(":")) {
+            if ((colors ? StandardTags.color() : StandardTags.decorations()).has(split)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -9,10 +9,17 @@ import com.github.retrooper.packetevents.PacketEvents;
 import io.github.retrooper.packetevents.factory.spigot.SpigotPacketEventsBuilder;
 import to.itsme.itsmyconfig.api.ItsMyConfigAPI;
 import to.itsme.itsmyconfig.command.CommandManager;
+import to.itsme.itsmyconfig.font.Font;
+import to.itsme.itsmyconfig.font.FontRegistry;
+import to.itsme.itsmyconfig.font.MappedFont;
 import to.itsme.itsmyconfig.processor.PacketListener;
 import to.itsme.itsmyconfig.processor.ProcessorManager;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.processor.TranslationCache;
 import to.itsme.itsmyconfig.hook.PAPIHook;
+import to.itsme.itsmyconfig.listener.PlayerContextListener;
 import to.itsme.itsmyconfig.message.AudienceResolver;
+import to.itsme.itsmyconfig.message.Message;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderManager;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
@@ -20,6 +27,9 @@ import to.itsme.itsmyconfig.placeholder.type.*;
 import to.itsme.itsmyconfig.placeholder.type.ProgressbarPlaceholder;
 import to.itsme.itsmyconfig.requirement.RequirementManager;
 import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.util.PlaceholderMemo;
+import to.itsme.itsmyconfig.util.PlayerContext;
+import to.itsme.itsmyconfig.util.PrefixProfile;
 import to.itsme.itsmyconfig.util.Strings;
 import to.itsme.itsmyconfig.util.Versions;
 import to.itsme.itsmyconfig.processor.ConsoleFilter;
@@ -108,6 +118,7 @@ public final class ItsMyConfig extends JavaPlugin {
 
         this.getLogger().info("Using packet listener: " + listener.name());
         this.processorManager.load();
+        this.getServer().getPluginManager().registerEvents(new PlayerContextListener(), this);
 
         if (getConfig().getBoolean("translate-console")) {
             // Register Console Filter
@@ -136,6 +147,7 @@ public final class ItsMyConfig extends JavaPlugin {
         }
         AudienceResolver.close();
         this.processorManager.close();
+        PlayerContext.clear();
     }
 
     /**
@@ -145,9 +157,10 @@ public final class ItsMyConfig extends JavaPlugin {
      * 0. Cache time before loading placeholders.
      * 1-2. Track previously registered placeholders and progress bars.
      * 3-4. Clear all registered placeholders and progress bars.
+     * 4b. Load and register the custom fonts, before the translation cache gets cleared.
      * 5. Save the default configuration file if it does not exist
      * 6. Reload the configuration from the file.
-     * 7. Loads the symbol prefix from the configuration.
+     * 7. Loads the symbol prefix from the configuration, and compiles the plugin messages.
      * 8-9. Maps to keep track of registered placeholders and progress bars to avoid duplicates.
      * 10-11. Load and register placeholders and progress bars from the main configuration file.
      * 12. Load and register placeholders and progress bars from additional custom .yml files.
@@ -166,11 +179,22 @@ public final class ItsMyConfig extends JavaPlugin {
         // 3 - 4: unregister all placeholders and bars
         this.placeholderManager.unregisterAll();
 
+        // 4b: Load and register the custom fonts
+        final File fontsFolder = new File(this.getDataFolder(), "fonts");
+        if (fontsFolder.mkdirs()) {
+            this.saveResource("fonts/example.yml", false);
+        }
+
+        final Map<String, Font> fonts = new LinkedHashMap<>();
+        this.loadFonts(fontsFolder, fonts);
+        FontRegistry.setCustomFonts(fonts.values());
+
         // 5 - 7: load config.yml
         this.saveDefaultConfig();
         this.reloadConfig();
         this.config = this.getConfig();
         this.reloadConfigParams();
+        Message.reload();
 
         this.getLogger().info("Using packet serializer: " + IMCSerializer.currentSerializerType().name());
         /* Disable warning temporarily till MM_COPY is stable
@@ -234,6 +258,16 @@ public final class ItsMyConfig extends JavaPlugin {
         this.debug = this.config.getBoolean("debug");
         this.symbolPrefix = this.config.getString("symbol-prefix");
         Strings.setSymbolPrefix(this.symbolPrefix);
+        Strings.setPrefixProfiles(PrefixProfile.load(this.config.getConfigurationSection("prefix-profiles")));
+        TranslationCache.configure(
+                this.config.getBoolean("translation-cache.enabled", true),
+                this.config.getInt("translation-cache.size", 512)
+        );
+        RecentMessages.configure(this.config.getLong("translation-cache.broadcast-window", 50));
+        PlaceholderMemo.configure(
+                this.config.getLong("placeholderapi-memo.window", 50),
+                this.config.getStringList("placeholderapi-memo.exclude")
+        );
         MathPlaceholder.UPDATE_FORMATTINGS();
     }
 
@@ -283,16 +317,74 @@ public final class ItsMyConfig extends JavaPlugin {
         }
     }
 
+    /**
+     * Recursively loads the fonts of the .yml files from the specified folder.
+     * Invalid fonts, and fonts whose name is already taken, are skipped with a warning.
+     *
+     * @param folder The folder from which to load .yml files.
+     * @param fonts  The fonts loaded so far, by name.
+     */
+    private void loadFonts(
+            final File folder,
+            final Map<String, Font> fonts
+    ) {
+        final File[] files = folder.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (final File file : files) {
+            if (file.isDirectory()) {
+                this.loadFonts(file, fonts);
+                continue;
+            }
+
+            if (!file.isFile() || !file.getName().endsWith(".yml")) {
+                continue;
+            }
+
+            final ConfigurationSection section = YamlConfiguration.loadConfiguration(file).getConfigurationSection("fonts");
+            if (section == null) {
+                continue;
+            }
+
+            for (final String name : section.getKeys(false)) {
+                final ConfigurationSection fontSection = section.getConfigurationSection(name);
+                if (fontSection == null) {
+                    getLogger().warning(String.format("Invalid font configuration for %s in file %s", name, file.getName()));
+                    continue;
+                }
+
+                final MappedFont font;
+                try {
+                    font = MappedFont.load(name, fontSection);
+                } catch (final IllegalArgumentException e) {
+                    getLogger().warning(String.format("Invalid font %s in file %s: %s", name, file.getName(), e.getMessage()));
+                    continue;
+                }
+
+                if (FontRegistry.isBuiltIn(font.getName()) || fonts.containsKey(font.getName())) {
+                    getLogger().warning(String.format("Font \"%s\" from file %s is already defined, skipping it", font.getName(), file.getName()));
+                    continue;
+                }
+                fonts.put(font.getName(), font);
+            }
+        }
+    }
+
     @SuppressWarnings("ConstantConditions")
     private void migrateConfig(final File directory) {
         if (!this.config.isConfigurationSection("listeners")) {
             ConfigurationSection listeners = this.config.createSection("listeners");
             ConfigurationSection packetEvents = listeners.createSection("PacketEvents");
             packetEvents.set("priority", 1);
+            packetEvents.set("raw-prefix-scan", false);
 
             ConfigurationSection protocolLib = listeners.createSection("ProtocolLib");
             protocolLib.set("priority", 2);
-            protocolLib.set("cache-processors", false);
+
+            ConfigurationSection netty = listeners.createSection("Netty");
+            netty.set("priority", 3);
             this.saveConfig();
         }
 
@@ -488,6 +580,15 @@ public final class ItsMyConfig extends JavaPlugin {
         return this.placeholderManager;
     }
 
+    /**
+     * Retrieves the ProcessorManager instance.
+     *
+     * @return The ProcessorManager instance, or null before the plugin got enabled.
+     */
+    public ProcessorManager getProcessorManager() {
+        return this.processorManager;
+    }
+
     /**
      * Returns the RequirementManager object. The RequirementManager class is responsible for managing requirements
      * and validating them.
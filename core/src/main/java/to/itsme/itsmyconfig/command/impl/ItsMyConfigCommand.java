@@ -3,7 +3,9 @@ package to.itsme.itsmyconfig.command.impl;
 import dev.velix.imperat.BukkitSource;
 import dev.velix.imperat.annotations.*;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -18,9 +20,22 @@ import to.itsme.itsmyconfig.message.AudienceResolver;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
 import to.itsme.itsmyconfig.message.Message;
+import to.itsme.itsmyconfig.processor.EncodedCache;
+import to.itsme.itsmyconfig.processor.TranslationCache;
+import to.itsme.itsmyconfig.processor.metrics.PacketMetrics;
+import to.itsme.itsmyconfig.processor.metrics.PacketTracer;
+import to.itsme.itsmyconfig.processor.metrics.PipelineMetrics;
+import to.itsme.itsmyconfig.util.LatencyHistogram;
+import to.itsme.itsmyconfig.util.LruCache;
 import to.itsme.itsmyconfig.util.Utilities;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 
 @Command("itsmyconfig")
 @Permission("itsmyconfig.admin")
@@ -43,6 +58,9 @@ public final class ItsMyConfigCommand {
                     <gray>• <white>/itsmyconfig parse <gold><target> <message>
                     <gray>• <white>/itsmyconfig message <gold><target> <message>
                     <gray>• <white>/itsmyconfig config <gold><placeholder> <value>
+                    <gray>• <white>/itsmyconfig cache
+                    <gray>• <white>/itsmyconfig stats
+                    <gray>• <white>/itsmyconfig trace <gold><options>
                 
                   <gray>• <white>Project: <aqua>ItsMe.to
                   <gray>• <white>Support: <click:open_url:'https://discord.gg/itsme-to'><green>discord.gg/itsme-to</click>
@@ -129,7 +147,7 @@ public final class ItsMyConfigCommand {
         for (final Player player : players) {
             final Component component = Utilities.translate(message, player);
             if (!Component.empty().equals(component)) {
-                AudienceResolver.resolve(player).sendMessage(component);
+                AudienceResolver.sendTranslated(player, component);
             }
         }
 
@@ -173,6 +191,198 @@ public final class ItsMyConfigCommand {
         }
     }
 
+    @SubCommand("cache")
+    @Permission("itsmyconfig.cache")
+    @Description("Shows the translation cache stats")
+    public void cache(final BukkitSource source) {
+        final String message = stats("Translation cache", TranslationCache.cache())
+                + stats("Encoded translations", EncodedCache.cache());
+        AudienceResolver.send(source, Utilities.MM.deserialize(message));
+    }
+
+    private static String stats(final String name, final LruCache<?, ?> cache) {
+        return """
+                  <gold>%s</gold> <gray>(%d/%d)
+                    <gray>• <white>Hits: <green>%d <gray>(%.1f%%)
+                    <gray>• <white>Misses: <yellow>%d
+                    <gray>• <white>Evictions: <red>%d
+                """.formatted(
+                name, cache.size(), cache.maximumSize(),
+                cache.hits(), cache.hitRatio() * 100,
+                cache.misses(), cache.evictions()
+        );
+    }
+
+    @SubCommand("stats")
+    @Permission("itsmyconfig.stats")
+    @Description("Shows the packet pipeline stats")
+    public void stats(final BukkitSource source) {
+        final List<PacketMetrics> all = PipelineMetrics.all();
+        if (all.isEmpty()) {
+            AudienceResolver.send(source, Utilities.MM.deserialize("<red>No packets were processed yet."));
+            return;
+        }
+
+        final StringBuilder message = new StringBuilder();
+        for (final PacketMetrics metrics : all) {
+            message.append("""
+                      <gold>%s</gold> <gray>(seen %d, prefixed %d, cancelled %d, errors %d)
+                    """.formatted(
+                    metrics.getPacketType(), metrics.getSeen(), metrics.getPrefixed(),
+                    metrics.getCancelled(), metrics.getErrors()
+            ));
+
+            for (final PacketMetrics.Stage stage : PacketMetrics.Stage.values()) {
+                final LatencyHistogram histogram = metrics.histogram(stage);
+                if (histogram.count() == 0) {
+                    continue;
+                }
+
+                message.append("""
+                            <gray>• <white>%s: <green>p50 %s <yellow>p99 %s <red>max %s
+                        """.formatted(
+                        stage.name().toLowerCase(Locale.ROOT).replace('_', ' '),
+                        micros(histogram.percentile(0.5)),
+                        micros(histogram.percentile(0.99)),
+                        micros(histogram.max())
+                ));
+            }
+        }
+
+        AudienceResolver.send(source, Utilities.MM.deserialize(message.toString()));
+    }
+
+    @SubCommand("trace")
+    @Permission("itsmyconfig.trace")
+    @Description("Traces packets of a player, a packet type or a sample of them")
+    public void trace(
+            final BukkitSource source,
+            final @Named("options") @Greedy String options
+    ) {
+        final String[] args = options.trim().split("\\s+");
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "off" -> {
+                PacketTracer.trace(null);
+                AudienceResolver.send(source, Utilities.MM.deserialize("<red>Packet tracing disabled."));
+            }
+            case "clear" -> {
+                PacketTracer.clear();
+                AudienceResolver.send(source, Utilities.MM.deserialize("<green>Trace buffer cleared."));
+            }
+            case "dump" -> this.dumpTraces(source, args.length > 1 ? parseCount(args[1], 10) : 10);
+            default -> {
+                final PacketTracer.Filter filter = this.parseTraceFilter(args);
+                if (filter == null) {
+                    AudienceResolver.send(source, Utilities.MM.deserialize(
+                            "<red>Usage: /itsmyconfig trace <all | player <name> | type <packet> | sample <n>...> | dump [count] | clear | off>"
+                    ));
+                    return;
+                }
+
+                PacketTracer.trace(filter);
+                final Player player = filter.player() == null ? null : plugin.getServer().getPlayer(filter.player());
+                AudienceResolver.send(source, Component.text("Tracing packets of %s, type %s, 1 in %d. Use /itsmyconfig trace dump to see them.".formatted(
+                        player == null ? "everyone" : player.getName(),
+                        filter.packetType() == null ? "any" : filter.packetType(),
+                        filter.sampleEvery()
+                ), NamedTextColor.GREEN));
+            }
+        }
+    }
+
+    private PacketTracer.Filter parseTraceFilter(final String[] args) {
+        UUID player = null;
+        String type = null;
+        int sample = 1;
+        for (int i = 0; i < args.length; i++) {
+            final String key = args[i].toLowerCase(Locale.ROOT);
+            if (key.equals("all")) {
+                continue;
+            }
+
+            if (i + 1 >= args.length) {
+                return null;
+            }
+
+            final String value = args[++i];
+            switch (key) {
+                case "player" -> {
+                    final Player found = plugin.getServer().getPlayerExact(value);
+                    if (found == null) {
+                        return null;
+                    }
+                    player = found.getUniqueId();
+                }
+                case "type" -> type = value;
+                case "sample" -> {
+                    sample = parseCount(value, -1);
+                    if (sample < 1) {
+                        return null;
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return new PacketTracer.Filter(player, type, sample);
+    }
+
+    private void dumpTraces(final BukkitSource source, final int count) {
+        final List<PacketTracer.Entry> entries = PacketTracer.entries();
+        if (entries.isEmpty()) {
+            AudienceResolver.send(source, Utilities.MM.deserialize("<red>No packets were traced yet."));
+            return;
+        }
+
+        final DateTimeFormatter format = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+        final TextComponent.Builder dump = Component.text();
+        for (final PacketTracer.Entry entry : entries.subList(Math.max(0, entries.size() - count), entries.size())) {
+            final StringBuilder stages = new StringBuilder();
+            for (final PacketMetrics.Stage stage : PacketMetrics.Stage.values()) {
+                final long nanos = entry.stages()[stage.ordinal()];
+                if (nanos >= 0) {
+                    stages.append(stages.isEmpty() ? "" : ", ")
+                            .append(stage.name().toLowerCase(Locale.ROOT).replace('_', ' '))
+                            .append(' ')
+                            .append(micros(nanos));
+                }
+            }
+
+            dump.append(Component.newline())
+                    .append(Component.text(format.format(Instant.ofEpochMilli(entry.timestamp())) + " ", NamedTextColor.GRAY))
+                    .append(Component.text(entry.player() + " ", NamedTextColor.WHITE))
+                    .append(Component.text(entry.packetType() + " ", NamedTextColor.GOLD))
+                    .append(Component.text(entry.outcome(), NamedTextColor.GREEN))
+                    .append(Component.text(stages.isEmpty() ? "" : " (" + stages + ")", NamedTextColor.GRAY));
+            traceLine(dump, "raw", entry.raw());
+            traceLine(dump, "parsed", entry.parsed());
+            traceLine(dump, "translated", entry.translated());
+        }
+
+        AudienceResolver.send(source, dump.build());
+    }
+
+    private static void traceLine(final TextComponent.Builder dump, final String name, final String value) {
+        if (value != null) {
+            dump.append(Component.newline())
+                    .append(Component.text("  " + name + ": ", NamedTextColor.GRAY))
+                    .append(Component.text(value, NamedTextColor.WHITE));
+        }
+    }
+
+    private static int parseCount(final String value, final int fallback) {
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException ex) {
+            return fallback;
+        }
+    }
+
+    private static String micros(final long nanos) {
+        return String.format(Locale.ROOT, "%.1fµs", nanos / 1000D);
+    }
+
     @SubCommand("config")
     @Permission("itsmyconfig.config")
     @Description("Sets config values for placeholder")
@@ -5,7 +5,6 @@ import net.kyori.adventure.text.minimessage.tag.TagPattern;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.List;
 
 public interface Font {
 
@@ -14,7 +13,7 @@ public interface Font {
     @NotNull Component apply(final @NotNull Component component);
 
     static Collection<Font> values() {
-        return List.of(MappedFont.SMALL_CAPS);
+        return FontRegistry.values();
     }
 
 }
@@ -4,10 +4,14 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.minimessage.tag.TagPattern;
 import org.jetbrains.annotations.NotNull;
-import to.itsme.itsmyconfig.util.Strings;
+
+import java.util.regex.Pattern;
 
 public abstract class FontImpl implements Font {
 
+    /* The whole content of each text component, styled in one go */
+    private static final Pattern CONTENT_PATTERN = Pattern.compile(".+", Pattern.DOTALL);
+
     private final @TagPattern String name;
     private final TextReplacementConfig config = this.createConfig();
 
@@ -26,7 +30,7 @@ public abstract class FontImpl implements Font {
 
     private TextReplacementConfig createConfig() {
         final TextReplacementConfig.Builder config = TextReplacementConfig.builder();
-        config.match(Strings.LETTERS_PATTERN).replacement((matchResult, builder) -> {
+        config.match(CONTENT_PATTERN).replacement((matchResult, builder) -> {
             final String text = this.apply(matchResult.group());
             return Component.text().content(text);
         });
@@ -0,0 +1,90 @@
+package to.itsme.itsmyconfig.font;
+
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the built-in fonts and the ones of the {@code fonts} folder, by name.
+ * <p>
+ * The {@link #RESOLVER} looks fonts up when a tag gets resolved,
+ * so reloading the fonts doesn't require rebuilding the MiniMessage instances.
+ */
+public final class FontRegistry {
+
+    private static final List<Font> BUILT_IN = List.of(MappedFont.SMALL_CAPS);
+
+    private static volatile Map<String, Font> fonts = index(List.of());
+
+    /**
+     * Resolves a tag named after a font into a {@link FontTag}.
+     */
+    public static final TagResolver RESOLVER = new TagResolver() {
+        @Override
+        public @Nullable Tag resolve(final @NotNull String name, final @NotNull ArgumentQueue arguments, final @NotNull Context ctx) {
+            final Font font = fonts.get(name);
+            return font == null ? null : new FontTag(font);
+        }
+
+        @Override
+        public boolean has(final @NotNull String name) {
+            return fonts.containsKey(name);
+        }
+    };
+
+    private FontRegistry() {
+    }
+
+    /**
+     * Replaces the fonts of the {@code fonts} folder.
+     * Built-in fonts keep their name, a custom font using one is ignored.
+     *
+     * @param custom the custom fonts, in load order
+     */
+    public static void setCustomFonts(final Collection<? extends Font> custom) {
+        fonts = index(custom);
+    }
+
+    /**
+     * @param name the name of the font
+     * @return the font, or {@code null} if there's none by that name
+     */
+    public static @Nullable Font get(final String name) {
+        return fonts.get(name);
+    }
+
+    /**
+     * @return every font, built-in ones first
+     */
+    public static Collection<Font> values() {
+        return fonts.values();
+    }
+
+    /**
+     * @return whether the name belongs to a built-in font
+     */
+    public static boolean isBuiltIn(final String name) {
+        return BUILT_IN.stream().anyMatch(font -> font.getName().equals(name));
+    }
+
+    private static Map<String, Font> index(final Collection<? extends Font> custom) {
+        final Map<String, Font> index = new LinkedHashMap<>();
+        for (final Font font : BUILT_IN) {
+            index.put(font.getName(), font);
+        }
+        for (final Font font : custom) {
+            index.putIfAbsent(font.getName(), font);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+}
@@ -1,13 +1,25 @@
 package to.itsme.itsmyconfig.font;
 
 import net.kyori.adventure.text.minimessage.tag.TagPattern;
+import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 import to.itsme.itsmyconfig.util.Strings;
 
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
+/**
+ * A font replacing characters one by one, looked up in primitive code point tables.
+ * <p>
+ * ASCII characters are mapped with a direct lookup. Other characters are looked up as is,
+ * and if unmapped, stripped of their accents first, so {@code é} is styled like {@code e}.
+ * Characters the font doesn't map are kept.
+ */
 public class MappedFont extends FontImpl {
 
     public static final MappedFont SMALL_CAPS = new MappedFont(
@@ -16,7 +28,36 @@ public class MappedFont extends FontImpl {
             "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢ"
     );
 
-    private final Map<Character, Character> characterMap;
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z0-9_-]+");
+
+    private static final int UNMAPPED = -1;
+    private static final int ASCII = 128;
+
+    /* Accent-stripped forms of the Latin blocks, null where stripping changes nothing */
+    private static final int FOLDED_LIMIT = 0x250;
+    private static final String[] FOLDED = new String[FOLDED_LIMIT];
+
+    /* Accent-stripped forms of the Latin Extended Additional block, e.g. Vietnamese */
+    private static final int EXTENDED_START = 0x1E00;
+    private static final int EXTENDED_END = 0x1F00;
+    private static final String[] FOLDED_EXTENDED = new String[EXTENDED_END - EXTENDED_START];
+
+    /* Accent-stripped forms of the other characters met so far, the empty string where stripping changes nothing */
+    private static final int FOLDED_OTHERS_LIMIT = 4096;
+    private static final Map<Integer, String> FOLDED_OTHERS = new ConcurrentHashMap<>();
+
+    static {
+        for (int codePoint = ASCII; codePoint < FOLDED_LIMIT; codePoint++) {
+            FOLDED[codePoint] = fold(codePoint);
+        }
+        for (int codePoint = EXTENDED_START; codePoint < EXTENDED_END; codePoint++) {
+            FOLDED_EXTENDED[codePoint - EXTENDED_START] = fold(codePoint);
+        }
+    }
+
+    private final int[] asciiTable = new int[ASCII];
+    private final int[] keys;
+    private final int[] values;
 
     MappedFont(
             final @TagPattern String name,
@@ -24,31 +65,132 @@ public class MappedFont extends FontImpl {
             final String replacements
     ) {
         super(name);
-        this.characterMap = createMapping(original, replacements);
+        final int[] from = original.codePoints().toArray();
+        final int[] to = replacements.codePoints().toArray();
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Original and replacement texts must be of the same length.");
+        }
+
+        Arrays.fill(asciiTable, UNMAPPED);
+        final TreeMap<Integer, Integer> others = new TreeMap<>();
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < ASCII) {
+                asciiTable[from[i]] = to[i];
+            } else {
+                others.put(from[i], to[i]);
+            }
+        }
+
+        this.keys = others.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.values = others.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Reads a font of the {@code fonts} folder, mapping each character of {@code from}
+     * to the character of {@code to} at the same position.
+     *
+     * @param name the name of the font, used as its tag
+     * @param section the section of the font
+     * @return the font
+     * @throws IllegalArgumentException if the name isn't a valid tag name or the mapping is invalid
+     */
+    public static MappedFont load(final String name, final ConfigurationSection section) {
+        final String tagName = name.toLowerCase(Locale.ROOT);
+        if (!NAME_PATTERN.matcher(tagName).matches()) {
+            throw new IllegalArgumentException("Font names may only contain letters, digits, '_' and '-'.");
+        }
+
+        final String from = section.getString("from");
+        final String to = section.getString("to");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Fonts need both a 'from' and a 'to' text.");
+        }
+        return new MappedFont(tagName, from, to);
     }
 
     @Override
     public @NotNull String apply(final @NotNull String text) {
-        final byte[] bytes = Strings.englishify(text).getBytes(StandardCharsets.UTF_8);
-        final StringBuilder builder = new StringBuilder();
-        for (final byte messageByte : bytes) {
-            final char originalChar = (char) messageByte;
-            final char styledChar = characterMap.getOrDefault(originalChar, originalChar);
-            builder.append(styledChar);
+        final StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            final char character = text.charAt(i);
+            if (character < ASCII) {
+                final int mapped = asciiTable[character];
+                if (mapped == UNMAPPED) {
+                    builder.append(character);
+                } else {
+                    builder.appendCodePoint(mapped);
+                }
+                i++;
+                continue;
+            }
+
+            final int codePoint = text.codePointAt(i);
+            this.appendNonAscii(codePoint, builder);
+            i += Character.charCount(codePoint);
         }
         return builder.toString();
     }
 
-    private static Map<Character, Character> createMapping(final String original, final String replacements) {
-        if (original.length() != replacements.length()) {
-            throw new IllegalArgumentException("Original and replacement texts must be of the same length.");
+    private void appendNonAscii(final int codePoint, final StringBuilder builder) {
+        final int mapped = this.lookup(codePoint);
+        if (mapped != UNMAPPED) {
+            builder.appendCodePoint(mapped);
+            return;
         }
 
-        final Map<Character, Character> mapping = new HashMap<>();
-        for (int i = 0; i < original.length(); i++) {
-            mapping.put(original.charAt(i), replacements.charAt(i));
+        final String folded = folded(codePoint);
+        if (folded == null) {
+            builder.appendCodePoint(codePoint);
+            return;
         }
-        return mapping;
+
+        folded.codePoints().forEach(base -> {
+            final int styled = this.lookup(base);
+            builder.appendCodePoint(styled == UNMAPPED ? base : styled);
+        });
+    }
+
+    private int lookup(final int codePoint) {
+        if (codePoint < ASCII) {
+            return asciiTable[codePoint];
+        }
+
+        final int index = Arrays.binarySearch(keys, codePoint);
+        return index < 0 ? UNMAPPED : values[index];
+    }
+
+    /**
+     * Looks up the code point stripped of its accents, folding it only once.
+     * The characters of other blocks are remembered up to a limit, past which they're folded on every call.
+     *
+     * @return the code point stripped of its accents, or null if it has none
+     */
+    private static String folded(final int codePoint) {
+        if (codePoint < FOLDED_LIMIT) {
+            return FOLDED[codePoint];
+        }
+
+        if (codePoint >= EXTENDED_START && codePoint < EXTENDED_END) {
+            return FOLDED_EXTENDED[codePoint - EXTENDED_START];
+        }
+
+        String folded = FOLDED_OTHERS.get(codePoint);
+        if (folded == null) {
+            folded = Objects.requireNonNullElse(fold(codePoint), "");
+            if (FOLDED_OTHERS.size() < FOLDED_OTHERS_LIMIT) {
+                FOLDED_OTHERS.put(codePoint, folded);
+            }
+        }
+        return folded.isEmpty() ? null : folded;
+    }
+
+    /**
+     * @return the code point stripped of its accents, or null if it has none
+     */
+    private static String fold(final int codePoint) {
+        final String original = Character.toString(codePoint);
+        final String folded = Strings.englishify(original);
+        return folded.equals(original) ? null : folded;
     }
 
 }
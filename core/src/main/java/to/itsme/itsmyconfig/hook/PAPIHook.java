@@ -7,7 +7,8 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import to.itsme.itsmyconfig.ItsMyConfig;
-import to.itsme.itsmyconfig.font.MappedFont;
+import to.itsme.itsmyconfig.font.Font;
+import to.itsme.itsmyconfig.font.FontRegistry;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
 import to.itsme.itsmyconfig.tag.TagManager;
@@ -136,9 +137,11 @@ public final class PAPIHook extends PlaceholderExpansion {
             } catch (NumberFormatException e) {
                 return ILLEGAL_NUMBER_FORMAT_MSG;
             }
-        } else if ("smallcaps".equals(fontType)) {
-            String message = splitParams[2].toLowerCase();
-            return MappedFont.SMALL_CAPS.apply(message);
+        }
+
+        final Font font = FontRegistry.get(fontType);
+        if (font != null) {
+            return font.apply(splitParams[2]);
         }
         return "ERROR";
     }
@@ -0,0 +1,16 @@
+package to.itsme.itsmyconfig.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import to.itsme.itsmyconfig.util.PlayerContext;
+
+public class PlayerContextListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        PlayerContext.release(event.getPlayer());
+    }
+
+}
@@ -4,9 +4,13 @@ import dev.velix.imperat.BukkitSource;
 import dev.velix.imperat.context.Source;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.processor.PacketListener;
+import to.itsme.itsmyconfig.processor.ProcessorManager;
 
 public class AudienceResolver {
 
@@ -40,6 +44,17 @@ public class AudienceResolver {
         AUDIENCE_RESOLVER.resolve(source).sendMessage(component);
     }
 
+    /**
+     * Sends a message ItsMyConfig already translated, skipping the packet listener when it can.
+     */
+    public static void sendTranslated(final Player player, final Component component) {
+        final ProcessorManager processorManager = ItsMyConfig.getInstance().getProcessorManager();
+        final PacketListener listener = processorManager == null ? null : processorManager.getListener();
+        if (listener == null || !listener.sendSilently(player, component)) {
+            AUDIENCE_RESOLVER.resolve(player).sendMessage(component);
+        }
+    }
+
     public static void close() {
         AUDIENCE_RESOLVER.close();
     }
@@ -6,8 +6,8 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.entity.Player;
 import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.util.MessageTemplate;
 import to.itsme.itsmyconfig.util.Strings;
-import to.itsme.itsmyconfig.util.Utilities;
 
 import java.util.List;
 
@@ -19,14 +19,24 @@ public enum Message {
 
     private static final ItsMyConfig plugin = ItsMyConfig.getInstance();
     private final String path;
+    private volatile MessageTemplate template;
 
     Message(final String path) {
         this.path = path;
     }
 
+    /**
+     * Compiles the messages again from the config, once it and the fonts got reloaded.
+     */
+    public static void reload() {
+        for (final Message message : values()) {
+            message.template = MessageTemplate.compile(message.toString());
+        }
+    }
+
     public void send(final Player player, final TagResolver... resolvers) {
-        final Component component = Utilities.translate(this.toString(), player, resolvers);
-        AudienceResolver.resolve(player).sendMessage(component);
+        final Component component = this.template().render(player, resolvers);
+        AudienceResolver.sendTranslated(player, component);
     }
 
     public void send(final Source source, final TagResolver... replacers) {
@@ -35,12 +45,21 @@ public enum Message {
 
     public void send(final BukkitSource source, final TagResolver... replacers) {
         if (source.isConsole()) {
-            AudienceResolver.resolve(source).sendMessage(Utilities.translate(toString(), replacers));
+            AudienceResolver.resolve(source).sendMessage(this.template().render(replacers));
         } else {
             send(source.asPlayer(), replacers);
         }
     }
 
+    private MessageTemplate template() {
+        MessageTemplate template = this.template;
+        if (template == null) {
+            template = MessageTemplate.compile(this.toString());
+            this.template = template;
+        }
+        return template;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public String toString() {
@@ -1,6 +1,5 @@
 package to.itsme.itsmyconfig.placeholder;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
@@ -8,10 +7,13 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 import to.itsme.itsmyconfig.ItsMyConfig;
 import to.itsme.itsmyconfig.requirement.RequirementData;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 import to.itsme.itsmyconfig.util.Strings;
+import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.jfr.PlaceholderEvent;
 
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The PlaceholderData class is an abstract class that represents the basic structure of a placeholder data object.
@@ -45,7 +47,11 @@ public abstract class Placeholder {
     /**
      * Represents a set of all argument numbers.
      */
-    protected final Set<Integer> arguments = new HashSet<>();
+    protected final Set<Integer> arguments = ConcurrentHashMap.newKeySet();
+    /**
+     * Represents how many registered strings use each argument number.
+     */
+    private final Map<Integer, Integer> argumentUses = new HashMap<>();
     /**
      * Represents a set of requirement data.
      */
@@ -114,12 +120,14 @@ public abstract class Placeholder {
             throw new RuntimeException("This method requires a player / offline player to be used.");
         }
 
+        final PlaceholderEvent event = new PlaceholderEvent();
+        event.begin();
         final String deny = getColorTranslatedMessage(null, args);
         if (deny != null) {
-            return deny;
+            return this.commit(event, deny);
         }
 
-        return this.getResult(null, args);
+        return this.commit(event, this.getResult(null, args));
     }
 
     /**
@@ -130,18 +138,33 @@ public abstract class Placeholder {
      * @return The formatted string.
      */
     public String asString(final OfflinePlayer player, final String[] args) {
+        final PlaceholderEvent event = new PlaceholderEvent();
+        event.begin();
         final String deny = getColorTranslatedMessage(player, args);
         if (deny != null) {
-            return deny;
+            return this.commit(event, deny);
         }
 
         final String result;
         if (player != null && player.isOnline()) {
-            result = PlaceholderAPI.setPlaceholders(player.getPlayer(), this.getResult(player.getPlayer(), args));
+            result = Utilities.setPlaceholders(player.getPlayer(), this.getResult(player.getPlayer(), args));
         } else {
-            result = PlaceholderAPI.setPlaceholders(player, this.getResult(player, args));
+            result = Utilities.setPlaceholders(player, this.getResult(player, args));
         }
 
+        return this.commit(event, result);
+    }
+
+    /**
+     * Commits a placeholder event if a recording wants it.
+     */
+    private String commit(final PlaceholderEvent event, final String result) {
+        if (event.shouldCommit()) {
+            event.identifier = this.section == null ? null : this.section.getName();
+            event.type = this.type == null ? null : this.type.name();
+            event.resultLength = result == null ? 0 : result.length();
+            event.commit();
+        }
         return result;
     }
 
@@ -156,7 +179,7 @@ public abstract class Placeholder {
     private String getColorTranslatedMessage(final @Nullable OfflinePlayer player, final String[] args) {
         final String deny = this.plugin.getRequirementManager().getDenyMessage(this, player, args);
         if (deny == null) return null;
-        return ChatColor.translateAlternateColorCodes('&', PlaceholderAPI.setPlaceholders(player, deny));
+        return ChatColor.translateAlternateColorCodes('&', Utilities.setPlaceholders(player, deny));
     }
 
     /**
@@ -203,6 +226,7 @@ public abstract class Placeholder {
 
     /**
      * Replaces placeholders in a given message with the provided arguments.
+     * Messages known ahead of time should keep their compiled template instead, see {@link #registerTemplate(String)}.
      *
      * @param params     The array of parameters to replace the placeholders with.
      * @param message    The message string containing the placeholders.
@@ -213,19 +237,11 @@ public abstract class Placeholder {
             final String message,
             final int skippedParams
     ) {
-        if (this.arguments.isEmpty() || params.length == 0) {
+        if (this.arguments.isEmpty() || params.length == 0 || message == null) {
             return message;
         }
 
-        String output = message;
-        for (final Integer argument : this.arguments) {
-            final int index = argument + skippedParams;
-            if (index >= params.length) continue;
-            // Dollar signs are quoted before using replaceAll
-            output = output.replaceAll(Pattern.quote("{" + argument + "}"), params[index].replace("$", "\\$"));
-        }
-
-        return output;
+        return ArgumentTemplate.compile(message, this.arguments::contains).apply(params, skippedParams);
     }
 
     /**
@@ -244,7 +260,37 @@ public abstract class Placeholder {
      * @param string The string containing the arguments to be registered.
      */
     protected void registerArguments(final String string) {
-        this.arguments.addAll(Strings.getArguments(string));
+        this.registerTemplate(string);
+    }
+
+    /**
+     * Registers the arguments of a string and compiles it, so replacing them takes a single pass.
+     * The caller keeps the template, which isn't cached here.
+     *
+     * @param string The string containing the arguments to be registered.
+     * @return The compiled template of the string.
+     */
+    protected ArgumentTemplate registerTemplate(final String string) {
+        for (final int argument : Set.copyOf(Strings.getArguments(string))) {
+            if (this.argumentUses.merge(argument, 1, Integer::sum) == 1) {
+                this.arguments.add(argument);
+            }
+        }
+        return ArgumentTemplate.compile(string);
+    }
+
+    /**
+     * Unregisters the arguments of a template that's no longer used, e.g. the previous value of a reloaded placeholder.
+     * Arguments still used by other registered strings are kept.
+     *
+     * @param template The template returned by {@link #registerTemplate(String)}.
+     */
+    protected void unregisterTemplate(final ArgumentTemplate template) {
+        for (final int argument : Set.copyOf(Strings.getArguments(template.text()))) {
+            if (this.argumentUses.computeIfPresent(argument, (key, uses) -> uses == 1 ? null : uses - 1) == null) {
+                this.arguments.remove(argument);
+            }
+        }
     }
 
     /**
@@ -5,6 +5,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 import to.itsme.itsmyconfig.util.Scheduler;
 
 import java.util.*;
@@ -17,7 +18,7 @@ import java.util.concurrent.BlockingQueue;
  */
 public final class AnimatedPlaceholder extends Placeholder {
 
-    private final BlockingQueue<String> queue;
+    private final BlockingQueue<ArgumentTemplate> queue;
 
     /**
      * Represents an animated placeholder data object that rotates between different messages at a specified interval.
@@ -34,8 +35,7 @@ public final class AnimatedPlaceholder extends Placeholder {
         if (messages.isEmpty()) return;
 
         for (final String message : messages) {
-            this.queue.add(message);
-            this.registerArguments(message);
+            this.queue.add(this.registerTemplate(message));
         }
 
         if (messages.size() > 1) {
@@ -48,7 +48,7 @@ public final class AnimatedPlaceholder extends Placeholder {
      * If the queue is empty, no action is taken.
      */
     private void rotateMessage() {
-        final String entry = queue.poll();
+        final ArgumentTemplate entry = queue.poll();
 
         if (entry != null) {
             queue.add(entry);
@@ -63,13 +63,13 @@ public final class AnimatedPlaceholder extends Placeholder {
      */
     @Override
     public String getResult(final OfflinePlayer player, final String[] args) {
-        final String entry = queue.peek();
+        final ArgumentTemplate entry = queue.peek();
 
         if (entry == null) {
             return "";
         }
 
-        return this.replaceArguments(args, entry);
+        return entry.apply(args, 0);
     }
 
 }
@@ -1,5 +1,6 @@
 package to.itsme.itsmyconfig.placeholder.type;
 
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
@@ -7,9 +8,12 @@ import org.bukkit.entity.Player;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
+import to.itsme.itsmyconfig.util.MessageTemplate;
 import to.itsme.itsmyconfig.util.Utilities;
 
 import java.util.Locale;
+import java.util.function.Supplier;
 
 public final class ColoredTextPlaceholder extends Placeholder {
 
@@ -29,6 +33,11 @@ public final class ColoredTextPlaceholder extends Placeholder {
             .build();
 
     private final String miniText;
+    private final ArgumentTemplate miniTemplate;
+
+    /* The serialized forms of the text, when it translates the same for everyone */
+    private final ArgumentTemplate legacyTemplate;
+    private final ArgumentTemplate consoleTemplate;
 
     public ColoredTextPlaceholder(
             final String filePath,
@@ -43,7 +52,17 @@ public final class ColoredTextPlaceholder extends Placeholder {
                 PlaceholderDependancy.OFFLINE_PLAYER
         );
         this.miniText = section.getString("value", "");
-        this.registerArguments(this.miniText);
+        this.miniTemplate = this.registerTemplate(this.miniText);
+
+        final MessageTemplate template = MessageTemplate.compile(this.miniText);
+        if (template.isStatic()) {
+            final Component translated = template.render();
+            this.legacyTemplate = ArgumentTemplate.compile(AMPERSAND_SERIALIZER.serialize(translated), this.arguments::contains);
+            this.consoleTemplate = ArgumentTemplate.compile(SECTION_SERIALIZER.serialize(translated), this.arguments::contains);
+        } else {
+            this.legacyTemplate = null;
+            this.consoleTemplate = null;
+        }
     }
 
     @Override
@@ -54,20 +73,10 @@ public final class ColoredTextPlaceholder extends Placeholder {
 
         final String firstArg = args[0].toLowerCase(Locale.ROOT);
         return switch (firstArg) {
-            case "l", "legacy" -> this.replaceArguments(
-                    args,
-                    AMPERSAND_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText)
-                    ), 1
-            );
-            case "c", "console" -> this.replaceArguments(
-                    args,
-                    SECTION_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText)
-                    ), 1
-            );
-            case "m", "mini" -> this.replaceArguments(args, this.miniText, 1);
-            default -> this.replaceArguments(args, this.miniText);
+            case "l", "legacy" -> this.serialize(args, this.legacyTemplate, AMPERSAND_SERIALIZER, () -> Utilities.translate(this.miniText));
+            case "c", "console" -> this.serialize(args, this.consoleTemplate, SECTION_SERIALIZER, () -> Utilities.translate(this.miniText));
+            case "m", "mini" -> this.miniTemplate.apply(args, 1);
+            default -> this.miniTemplate.apply(args, 0);
         };
     }
 
@@ -79,20 +88,10 @@ public final class ColoredTextPlaceholder extends Placeholder {
 
         final String firstArg = args[0].toLowerCase(Locale.ROOT);
         return switch (firstArg) {
-            case "l", "legacy" -> this.replaceArguments(
-                    args,
-                    AMPERSAND_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText, player)
-                    ), 1
-            );
-            case "c", "console" -> this.replaceArguments(
-                    args,
-                    SECTION_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText, player)
-                    ), 1
-            );
-            case "m", "mini" -> this.replaceArguments(args, this.miniText, 1);
-            default -> this.replaceArguments(args, this.miniText);
+            case "l", "legacy" -> this.serialize(args, this.legacyTemplate, AMPERSAND_SERIALIZER, () -> Utilities.translate(this.miniText, player));
+            case "c", "console" -> this.serialize(args, this.consoleTemplate, SECTION_SERIALIZER, () -> Utilities.translate(this.miniText, player));
+            case "m", "mini" -> this.miniTemplate.apply(args, 1);
+            default -> this.miniTemplate.apply(args, 0);
         };
     }
 
@@ -104,21 +103,26 @@ public final class ColoredTextPlaceholder extends Placeholder {
 
         final String firstArg = args[0].toLowerCase(Locale.ROOT);
         return switch (firstArg) {
-            case "l", "legacy" -> this.replaceArguments(
-                    args,
-                    AMPERSAND_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText, player)
-                    ), 1
-            );
-            case "c", "console" -> this.replaceArguments(
-                    args,
-                    SECTION_SERIALIZER.serialize(
-                            Utilities.translate(this.miniText, player)
-                    ), 1
-            );
-            case "m", "mini" -> this.replaceArguments(args, this.miniText, 1);
-            default -> this.replaceArguments(args, this.miniText);
+            case "l", "legacy" -> this.serialize(args, this.legacyTemplate, AMPERSAND_SERIALIZER, () -> Utilities.translate(this.miniText, player));
+            case "c", "console" -> this.serialize(args, this.consoleTemplate, SECTION_SERIALIZER, () -> Utilities.translate(this.miniText, player));
+            case "m", "mini" -> this.miniTemplate.apply(args, 1);
+            default -> this.miniTemplate.apply(args, 0);
         };
     }
 
+    /**
+     * Serializes the translated text, reusing the serialized form computed at load if there's one.
+     */
+    private String serialize(
+            final String[] args,
+            final ArgumentTemplate serialized,
+            final LegacyComponentSerializer serializer,
+            final Supplier<Component> translation
+    ) {
+        if (serialized != null) {
+            return serialized.apply(args, 1);
+        }
+        return this.replaceArguments(args, serializer.serialize(translation.get()), 1);
+    }
+
 }
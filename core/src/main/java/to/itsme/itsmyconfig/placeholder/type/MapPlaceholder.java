@@ -5,6 +5,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,7 +30,7 @@ import java.util.Map;
  */
 public final class MapPlaceholder extends Placeholder {
 
-    private final Map<String, String> map;
+    private final Map<String, ArgumentTemplate> map;
     private final boolean ignoreCase;
     private final String defaultValue;
 
@@ -52,11 +53,11 @@ public final class MapPlaceholder extends Placeholder {
         final int size = values.getKeys(false).size();
         final int capacity = (int) (size / 0.75f) + 1;
 
-        final Map<String, String> tmp = new HashMap<>(Math.max(16, capacity));
+        final Map<String, ArgumentTemplate> tmp = new HashMap<>(Math.max(16, capacity));
         for (final String key : values.getKeys(false)) {
             final Object raw = values.get(key);
             final String value = raw == null ? "" : String.valueOf(raw);
-            tmp.put(normalizeKey(key), value);
+            tmp.put(normalizeKey(key), ArgumentTemplate.compile(value));
         }
 
         this.map = Collections.unmodifiableMap(tmp);
@@ -72,30 +73,18 @@ public final class MapPlaceholder extends Placeholder {
         }
 
         final String key = normalizeKey(args[0]);
-        final String value = map.get(key);
-        if (value == null || value.isEmpty()) {
+        final ArgumentTemplate value = map.get(key);
+        if (value == null || value.text().isEmpty()) {
             return defaultValue;
         }
 
         // Optional: support {0},{1}... substitution from remaining args
-        if (args.length == 1) {
-            return value;
-        }
-
-        return applyArgs(value, args);
+        // args[0] is the map-key; replacements start from args[1] -> {0}
+        return value.apply(args, 1);
     }
 
     private String normalizeKey(final String key) {
         if (key == null) return "";
         return ignoreCase ? key.toLowerCase(java.util.Locale.ROOT) : key;
     }
-
-    private static String applyArgs(final String template, final String[] args) {
-        String out = template;
-        // args[0] is the map-key; replacements start from args[1] -> {0}
-        for (int i = 1; i < args.length; i++) {
-            out = out.replace("{" + (i - 1) + "}", args[i]);
-        }
-        return out;
-    }
 }
@@ -5,6 +5,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 
 import java.util.*;
 
@@ -21,7 +22,7 @@ public final class RandomPlaceholder extends Placeholder {
     /**
      *
      */
-    private final List<String> messages = new ArrayList<>();
+    private final List<ArgumentTemplate> messages = new ArrayList<>();
 
     /**
      * Constructs a RandomPlaceholderData object with the given messages.
@@ -33,8 +34,7 @@ public final class RandomPlaceholder extends Placeholder {
         super(section, filePath, PlaceholderType.RANDOM, PlaceholderDependancy.NONE);
         final List<String> messages = section.getStringList("values");
         for (final String message : messages) {
-            this.messages.add(message);
-            this.registerArguments(message);
+            this.messages.add(this.registerTemplate(message));
         }
     }
 
@@ -45,6 +45,11 @@ public final class RandomPlaceholder extends Placeholder {
      *         or null if the messages list is empty.
      */
     public String getRandomEntry() {
+        final ArgumentTemplate entry = this.getRandomTemplate();
+        return entry == null ? null : entry.text();
+    }
+
+    private ArgumentTemplate getRandomTemplate() {
         if (messages.isEmpty()) {
             return null;
         }
@@ -60,8 +65,8 @@ public final class RandomPlaceholder extends Placeholder {
      */
     @Override
     public String getResult(final OfflinePlayer player, final String[] params) {
-        final String entry = this.getRandomEntry();
-        return (entry == null) ? null : this.replaceArguments(params, entry);
+        final ArgumentTemplate entry = this.getRandomTemplate();
+        return (entry == null) ? null : entry.apply(params, 0);
     }
 
 }
@@ -6,6 +6,7 @@ import to.itsme.itsmyconfig.ItsMyConfig;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 
 import java.util.*;
 
@@ -42,7 +43,7 @@ public final class RangePlaceholder extends Placeholder {
     private final String defaultValue;
     private final long[] starts;
     private final long[] ends;
-    private final String[] values;
+    private final ArgumentTemplate[] values;
 
     public RangePlaceholder(
             final String filePath,
@@ -56,7 +57,7 @@ public final class RangePlaceholder extends Placeholder {
         if (cfg == null) {
             this.starts = new long[0];
             this.ends = new long[0];
-            this.values = new String[0];
+            this.values = new ArgumentTemplate[0];
             return;
         }
 
@@ -103,13 +104,13 @@ public final class RangePlaceholder extends Placeholder {
         final int n = filtered.size();
         final long[] s = new long[n];
         final long[] e = new long[n];
-        final String[] v = new String[n];
+        final ArgumentTemplate[] v = new ArgumentTemplate[n];
 
         for (int i = 0; i < n; i++) {
             final Entry it = filtered.get(i);
             s[i] = it.start;
             e[i] = it.end;
-            v[i] = it.value;
+            v[i] = ArgumentTemplate.compile(it.value);
         }
 
         this.starts = s;
@@ -138,16 +139,13 @@ public final class RangePlaceholder extends Placeholder {
             return defaultValue;
         }
 
-        final String template = values[idx];
-        if (template == null || template.isEmpty()) {
+        final ArgumentTemplate template = values[idx];
+        if (template.text().isEmpty()) {
             return defaultValue;
         }
 
-        if (args.length == 1) {
-            return template;
-        }
-
-        return applyArgs(template, args);
+        // args[0] is the number; replacements start from args[1] -> {0}
+        return template.apply(args, 1);
     }
 
     /**
@@ -212,15 +210,6 @@ public final class RangePlaceholder extends Placeholder {
         }
     }
 
-    private static String applyArgs(final String template, final String[] args) {
-        String out = template;
-        // args[0] is the number; replacements start from args[1] -> {0}
-        for (int i = 1; i < args.length; i++) {
-            out = out.replace("{" + (i - 1) + "}", args[i]);
-        }
-        return out;
-    }
-
     private void warn(final ConfigurationSection section, final String msg) {
         plugin.getLogger().warning("Range placeholder misconfig at '" + section.getCurrentPath() + "': " + msg);
     }
@@ -5,6 +5,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.PlaceholderType;
+import to.itsme.itsmyconfig.util.ArgumentTemplate;
 
 /**
  * The StringPlaceholderData class represents a placeholder data object for strings.
@@ -14,9 +15,9 @@ import to.itsme.itsmyconfig.placeholder.PlaceholderType;
 public final class StringPlaceholder extends Placeholder {
 
     /**
-     * The message string for the placeholder data.
+     * The compiled message string for the placeholder data.
      */
-    private String message;
+    private ArgumentTemplate message;
 
     /**
      * Represents a placeholder data object for strings.
@@ -28,8 +29,7 @@ public final class StringPlaceholder extends Placeholder {
             final ConfigurationSection section
     ) {
         super(section, filePath, PlaceholderType.STRING, PlaceholderDependancy.NONE);
-        this.message = section.getString("value", "");
-        this.registerArguments(this.message);
+        this.message = this.registerTemplate(section.getString("value", ""));
     }
 
     /**
@@ -40,7 +40,7 @@ public final class StringPlaceholder extends Placeholder {
      */
     @Override
     public String getResult(final OfflinePlayer player, final String[] params) {
-        return this.replaceArguments(params, this.message);
+        return this.message.apply(params, 0);
     }
 
     /**
@@ -50,7 +50,9 @@ public final class StringPlaceholder extends Placeholder {
      */
     @Override
     public boolean reloadFromSection() {
-        this.message = this.getConfigurationSection().getString("value", "");
+        final ArgumentTemplate previous = this.message;
+        this.message = this.registerTemplate(this.getConfigurationSection().getString("value", ""));
+        this.unregisterTemplate(previous);
         return true;
     }
 
@@ -0,0 +1,140 @@
+package to.itsme.itsmyconfig.processor;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+import to.itsme.itsmyconfig.util.Utilities;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Translates held back packets on a bounded worker pool, off the network threads.
+ * <p>
+ * Every connection gets a lane, packets are written back in the order they were submitted
+ * to it, no matter which translation finishes first. While a lane holds packets, listeners
+ * must queue every other chat packet of that connection behind them as well.
+ */
+public final class AsyncTranslator {
+
+    /* How long a written packet may take to come through before its lane moves on anyway */
+    private static final long RELEASE_GRACE = 5000;
+
+    private final ThreadPoolExecutor workers;
+    private final long timeout;
+    private final Map<Object, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads the amount of worker threads
+     * @param queueSize the amount of translations that may wait for a worker,
+     *                  further ones are written untranslated
+     * @param timeout the time in milliseconds after which the untranslated packet is written instead
+     */
+    public AsyncTranslator(final int threads, final int queueSize, final long timeout) {
+        final AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "ItsMyConfig Translator #" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeout = timeout;
+    }
+
+    /**
+     * Checks whether a connection still has packets waiting to be written.
+     *
+     * @param connection the connection key
+     * @return {@code true} if new packets must be queued behind the waiting ones
+     */
+    public boolean isQueued(final Object connection) {
+        return lanes.containsKey(connection);
+    }
+
+    /**
+     * Translates a packet's message in the background and writes it once every earlier packet was written.
+     *
+     * @param connection the connection key
+     * @param translation the translation of the message
+     * @param writer writes the translated packet, receiving {@code null} if the translation failed or timed out
+     */
+    public void submit(
+            final Object connection,
+            final Supplier<Component> translation,
+            final Writer writer
+    ) {
+        CompletableFuture<Component> translated;
+        try {
+            translated = CompletableFuture.supplyAsync(translation, workers)
+                    .completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS)
+                    .exceptionally(throwable -> {
+                        Utilities.debug(() -> "Exception while translating asynchronously: ", throwable);
+                        return null;
+                    });
+        } catch (final RejectedExecutionException ex) {
+            // Saturated, running it here would stall the network thread this pool exists to spare
+            Utilities.debug(() -> "Translation queue is full, writing the packet untranslated");
+            translated = CompletableFuture.completedFuture(null);
+        }
+        this.enqueue(connection, translated, writer);
+    }
+
+    /**
+     * Writes an untouched packet once every earlier packet was written.
+     *
+     * @param connection the connection key
+     * @param writer writes the packet, receiving {@code null}
+     */
+    public void submit(final Object connection, final Writer writer) {
+        this.enqueue(connection, CompletableFuture.completedFuture(null), writer);
+    }
+
+    private void enqueue(
+            final Object connection,
+            final CompletableFuture<Component> translated,
+            final Writer writer
+    ) {
+        final CompletableFuture<Void> released = new CompletableFuture<>();
+        final CompletableFuture<Void> previous = lanes.put(connection, released);
+
+        final CompletableFuture<Component> ready = previous == null
+                ? translated
+                : previous.thenCombine(translated, (ignored, component) -> component);
+
+        ready.thenAccept(component -> writer.write(component, () -> released.complete(null)))
+                .exceptionally(throwable -> {
+                    Utilities.debug(() -> "Exception while writing a held back packet: ", throwable);
+                    released.complete(null);
+                    return null;
+                });
+
+        // don't let a packet that never came through block the connection forever
+        released.completeOnTimeout(null, timeout + RELEASE_GRACE, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, throwable) -> lanes.remove(connection, released));
+    }
+
+    public void close() {
+        workers.shutdownNow();
+        lanes.clear();
+    }
+
+    @FunctionalInterface
+    public interface Writer {
+
+        /**
+         * Writes a held back packet to its connection.
+         *
+         * @param component the translated message, or {@code null} to write the packet untouched
+         * @param release must be run once the packet went through the channel, letting the next one go
+         */
+        void write(@Nullable Component component, Runnable release);
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package to.itsme.itsmyconfig.processor;
+
+import net.kyori.adventure.text.Component;
+import to.itsme.itsmyconfig.util.LruCache;
+
+import java.util.function.Function;
+
+/**
+ * Keeps the encoded form of recently written translations, so a translation shared by many
+ * recipients (see {@link TranslationCache}) is only serialized or converted once.
+ * <p>
+ * Translations are looked up by identity, as shared ones are the very same instance.
+ * Per-player translations are fresh instances that would never hit, so they're encoded without the cache.
+ * Only immutable encodings may be cached, they end up in the packets of every recipient,
+ * which rules out the server's mutable native components.
+ */
+public final class EncodedCache {
+
+    private static final LruCache<Key, Object> CACHE = new LruCache<>(128);
+
+    private EncodedCache() {}
+
+    /**
+     * Encodes a translation, reusing the result of a previous call for the same instance and format.
+     *
+     * @param format the encoded form, e.g. json or an adventure component
+     * @param component the translation
+     * @param shared whether the translation is the instance {@link TranslationCache} shares between recipients
+     * @param encoder encodes the translation, may return {@code null} if it can't
+     * @return the encoded translation, or {@code null} if the encoder returned {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T encode(
+            final Format format,
+            final Component component,
+            final boolean shared,
+            final Function<Component, T> encoder
+    ) {
+        if (!shared) {
+            return encoder.apply(component);
+        }
+
+        final Key key = new Key(format, component);
+        final Object cached = CACHE.get(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        final T encoded = encoder.apply(component);
+        if (encoded != null) {
+            CACHE.put(key, encoded);
+        }
+        return encoded;
+    }
+
+    public static LruCache<?, ?> cache() {
+        return CACHE;
+    }
+
+    public enum Format {
+        JSON,
+        ADVENTURE
+    }
+
+    private static final class Key {
+
+        private final Format format;
+        private final Component component;
+
+        private Key(final Format format, final Component component) {
+            this.format = format;
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key key && key.format == format && key.component == component;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * format.hashCode() + System.identityHashCode(component);
+        }
+
+    }
+
+}
@@ -3,6 +3,8 @@ package to.itsme.itsmyconfig.processor;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.PluginManager;
 import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.processor.metrics.PipelineMetrics;
+import to.itsme.itsmyconfig.processor.netty.NettyListener;
 import to.itsme.itsmyconfig.processor.packetevents.PEventsListener;
 import to.itsme.itsmyconfig.processor.protocollib.PLibListener;
 import to.itsme.itsmyconfig.util.reflect.Reflections;
@@ -12,13 +14,28 @@ import java.util.*;
 public class ProcessorManager {
 
     private final ItsMyConfig plugin;
+    private final AsyncTranslator asyncTranslator;
     private final PacketListener listener;
 
     public ProcessorManager(final ItsMyConfig plugin) {
         this.plugin = plugin;
+        this.asyncTranslator = createAsyncTranslator();
         this.listener = decideHandler();
     }
 
+    private AsyncTranslator createAsyncTranslator() {
+        final ConfigurationSection section = plugin.getConfig().getConfigurationSection("async-translation");
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return null;
+        }
+
+        return new AsyncTranslator(
+                Math.max(1, section.getInt("threads", 2)),
+                Math.max(1, section.getInt("queue-size", 1024)),
+                Math.max(1, section.getLong("timeout", 100))
+        );
+    }
+
     public PacketListener decideHandler() {
         final PluginManager manager = plugin.getServer().getPluginManager();
         final ConfigurationSection configSection = plugin.getConfig().getConfigurationSection("listeners");
@@ -40,6 +57,11 @@ public class ProcessorManager {
             availableListeners.put("ProtocolLib", priority);
         }
 
+        if (Reflections.findClass("io.netty.channel.Channel")) {
+            int priority = configSection.getInt("Netty.priority", Integer.MAX_VALUE);
+            availableListeners.put("Netty", priority);
+        }
+
         if (availableListeners.isEmpty()) {
             return null;
         }
@@ -53,9 +75,16 @@ public class ProcessorManager {
         return switch (chosenPlugin) {
             case "ProtocolLib" -> new PLibListener(
                     plugin,
-                    configSection.getBoolean("ProtocolLib.cache-processors", false)
+                    asyncTranslator
+            );
+            case "PacketEvents" -> new PEventsListener(
+                    configSection.getBoolean("PacketEvents.raw-prefix-scan", false),
+                    asyncTranslator
+            );
+            case "Netty" -> new NettyListener(
+                    plugin,
+                    asyncTranslator
             );
-            case "PacketEvents" -> new PEventsListener();
             default -> {
                 plugin.getLogger().warning("Unknown plugin handler: " + chosenPlugin);
                 yield null;
@@ -69,6 +98,10 @@ public class ProcessorManager {
 
     public void close() {
         listener.close();
+        if (asyncTranslator != null) {
+            asyncTranslator.close();
+        }
+        PipelineMetrics.close();
     }
 
     public PacketListener getListener() {
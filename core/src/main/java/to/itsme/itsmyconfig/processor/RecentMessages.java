@@ -0,0 +1,111 @@
+package to.itsme.itsmyconfig.processor;
+
+import net.kyori.adventure.text.Component;
+import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.util.PrefixedMessage;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Remembers the payloads seen in the last moments and what they serialized and parsed to,
+ * so a message broadcast to every player is only serialized and prefix-checked once.
+ * <p>
+ * Entries live for a short window (a tick by default), which is enough to cover a broadcast
+ * while keeping the maps tiny. The translation itself is shared through {@link TranslationCache}
+ * when the message is player-independent, or parsed once and filled per player when it only
+ * depends on the player through {@code <p:>} and {@code <papi:>} tags.
+ */
+public final class RecentMessages {
+
+    /* Past this many entries, expired ones get swept before adding another */
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Window<Object, String> SERIALIZED = new Window<>();
+    private static final Window<String, Optional<PrefixedMessage>> PARSED = new Window<>();
+
+    private static volatile long windowNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private RecentMessages() {}
+
+    /**
+     * (Re-)Configures the window, dropping all remembered payloads.
+     *
+     * @param windowMillis how long a payload is remembered, {@code 0} disables it
+     */
+    public static void configure(final long windowMillis) {
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0));
+        SERIALIZED.clear();
+        PARSED.clear();
+    }
+
+    /**
+     * Serializes a component to MiniMessage, reusing the result of an equal component seen just before.
+     *
+     * @param component the component of a packet
+     * @return the component as MiniMessage
+     */
+    public static String toMiniMessage(final Component component) {
+        return SERIALIZED.get(component, key -> IMCSerializer.toMiniMessage((Component) key));
+    }
+
+    /**
+     * Serializes a json message to MiniMessage, reusing the result of the same json seen just before.
+     *
+     * @param json the json message of a packet
+     * @return the message as MiniMessage
+     */
+    public static String toMiniMessage(final String json) {
+        return SERIALIZED.get(json, key -> IMCSerializer.toMiniMessage((String) key));
+    }
+
+    /**
+     * Strips the prefix of a message like {@link Strings#parsePrefixed(String)},
+     * reusing the result of the same message seen just before.
+     *
+     * @param message the MiniMessage of a packet
+     * @return the message without its prefix and its profile, or empty if it isn't prefixed
+     */
+    public static Optional<PrefixedMessage> parsePrefixed(final String message) {
+        return PARSED.get(message, Strings::parsePrefixed);
+    }
+
+    private static final class Window<K, V> {
+
+        private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+        private V get(final K key, final Function<K, V> loader) {
+            final long window = windowNanos;
+            if (window == 0) {
+                return loader.apply(key);
+            }
+
+            final long now = System.nanoTime();
+            final Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.createdAt < window) {
+                return entry.value;
+            }
+
+            final V value = loader.apply(key);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.values().removeIf(expired -> now - expired.createdAt >= window);
+                if (entries.size() >= MAX_ENTRIES) {
+                    entries.clear();
+                }
+            }
+            entries.put(key, new Entry<>(value, now));
+            return value;
+        }
+
+        private void clear() {
+            entries.clear();
+        }
+
+    }
+
+    private record Entry<V>(V value, long createdAt) {}
+
+}
@@ -0,0 +1,179 @@
+package to.itsme.itsmyconfig.processor;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import to.itsme.itsmyconfig.tag.TagManager;
+import to.itsme.itsmyconfig.util.BroadcastTemplate;
+import to.itsme.itsmyconfig.util.LruCache;
+import to.itsme.itsmyconfig.util.PrefixProfile;
+import to.itsme.itsmyconfig.util.PrefixedMessage;
+import to.itsme.itsmyconfig.util.Utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the translations of messages that render the same for every player,
+ * so a broadcast only goes through MiniMessage once.
+ * <p>
+ * Messages whose only player-dependent parts are {@code <p:>} and {@code <papi:>} tags are kept as a
+ * {@link BroadcastTemplate} instead, parsed once and filled with the values of each player.
+ */
+public final class TranslationCache {
+
+    private static final LruCache<Key, Component> CACHE = new LruCache<>(512);
+    private static final LruCache<Key, Optional<BroadcastTemplate>> TEMPLATES = new LruCache<>(512);
+
+    /* Tags whose output depends on the player, the first ones only through the text they insert */
+    private static final String[] PLAYER_TAGS;
+    private static final int PLACEHOLDER_TAGS = 2;
+
+    private static volatile boolean enabled = true;
+
+    static {
+        final List<String> names = new ArrayList<>(List.of("p", "papi"));
+        names.addAll(TagManager.names());
+        PLAYER_TAGS = names.toArray(new String[0]);
+    }
+
+    private TranslationCache() {}
+
+    /**
+     * (Re-)Configures the cache, dropping all cached translations.
+     *
+     * @param enabled whether translations should be cached
+     * @param size the maximum amount of cached translations
+     */
+    public static void configure(final boolean enabled, final int size) {
+        TranslationCache.enabled = enabled && size > 0;
+        CACHE.clear();
+        CACHE.resize(Math.max(size, 0));
+        TEMPLATES.clear();
+        TEMPLATES.resize(Math.max(size, 0));
+    }
+
+    /**
+     * Translates a post-prefix message for a player, reusing the cached result if it's player-independent.
+     *
+     * @param text the message without its symbol-prefix
+     * @param player the player receiving the message
+     * @return the translated component
+     */
+    public static Component translate(final String text, final Player player) {
+        return translate(text, true, player, () -> Utilities.translate(text, player));
+    }
+
+    /**
+     * Translates a prefixed message for a player with the resolvers of its profile,
+     * reusing the cached result if it's player-independent.
+     *
+     * @param message the message without its prefix, and the profile of the prefix
+     * @param player the player receiving the message
+     * @return the translated component
+     */
+    public static Component translate(final PrefixedMessage message, final Player player) {
+        final String text = message.text();
+        final PrefixProfile profile = message.profile();
+        return translate(text, profile.placeholderApi(), player, () -> Utilities.translate(text, player, profile));
+    }
+
+    private static Component translate(
+            final String text,
+            final boolean placeholderApi,
+            final Player player,
+            final Supplier<Component> translator
+    ) {
+        if (!enabled) {
+            return translator.get();
+        }
+
+        final int found = findPlayerTag(text);
+        final Key key = new Key(text, placeholderApi);
+        if (found == -1) {
+            Component translated = CACHE.get(key);
+            if (translated == null) {
+                translated = translator.get();
+                CACHE.put(key, translated);
+            }
+            return translated;
+        }
+
+        if (found >= PLACEHOLDER_TAGS) {
+            return translator.get();
+        }
+
+        Optional<BroadcastTemplate> template = TEMPLATES.get(key);
+        if (template == null) {
+            template = Optional.ofNullable(BroadcastTemplate.compile(text, placeholderApi));
+            TEMPLATES.put(key, template);
+        }
+
+        final Component rendered = template.isPresent() ? template.get().render(player) : null;
+        return rendered != null ? rendered : translator.get();
+    }
+
+    /**
+     * Checks whether translating a prefixed message hands out the cached instance shared by every recipient.
+     *
+     * @param message the message without its prefix, and the profile of the prefix
+     * @return {@code true} if every recipient gets the same translated instance
+     */
+    public static boolean isShared(final PrefixedMessage message) {
+        return enabled && isPlayerIndependent(message.text());
+    }
+
+    /**
+     * Checks that a message contains no {@code <p:>}, {@code <papi:>} or argument tags.
+     *
+     * @param text the checked message
+     * @return {@code true} if the message translates the same for every player
+     */
+    public static boolean isPlayerIndependent(final String text) {
+        return findPlayerTag(text) == -1;
+    }
+
+    /**
+     * Finds the most player-dependent tag of a message.
+     *
+     * @param text the checked message
+     * @return the highest index in {@link #PLAYER_TAGS} of the tags the message contains, or -1 if there's none
+     */
+    private static int findPlayerTag(final String text) {
+        int found = -1;
+        for (int i = text.indexOf('<'); i != -1; i = text.indexOf('<', i + 1)) {
+            final int start = i + 1;
+            int end = start;
+            while (end < text.length() && isNameCharacter(text.charAt(end))) {
+                end++;
+            }
+
+            final int length = end - start;
+            if (length == 0) {
+                continue;
+            }
+
+            for (int tag = 0; tag < PLAYER_TAGS.length; tag++) {
+                final String name = PLAYER_TAGS[tag];
+                if (name.length() == length && text.regionMatches(true, start, name, 0, length)) {
+                    found = Math.max(found, tag);
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    public static LruCache<?, Component> cache() {
+        return CACHE;
+    }
+
+    private static boolean isNameCharacter(final char character) {
+        return Character.isLetterOrDigit(character) || character == '_' || character == '-';
+    }
+
+    /* Profiles only change the output through the placeholder resolvers they install */
+    private record Key(String text, boolean placeholderApi) {}
+
+}
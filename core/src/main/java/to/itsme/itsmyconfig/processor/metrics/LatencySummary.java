@@ -0,0 +1,68 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+import to.itsme.itsmyconfig.util.LatencyHistogram;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * A point in time summary of a {@link LatencyHistogram}, in nanoseconds.
+ */
+public final class LatencySummary {
+
+    private final long count;
+    private final double mean;
+    private final long p50, p90, p99, max;
+
+    @ConstructorParameters({"count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "maxNanos"})
+    public LatencySummary(
+            final long count,
+            final double mean,
+            final long p50,
+            final long p90,
+            final long p99,
+            final long max
+    ) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public static LatencySummary of(final LatencyHistogram histogram) {
+        return new LatencySummary(
+                histogram.count(),
+                histogram.mean(),
+                histogram.percentile(0.5),
+                histogram.percentile(0.9),
+                histogram.percentile(0.99),
+                histogram.max()
+        );
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanNanos() {
+        return mean;
+    }
+
+    public long getP50Nanos() {
+        return p50;
+    }
+
+    public long getP90Nanos() {
+        return p90;
+    }
+
+    public long getP99Nanos() {
+        return p99;
+    }
+
+    public long getMaxNanos() {
+        return max;
+    }
+
+}
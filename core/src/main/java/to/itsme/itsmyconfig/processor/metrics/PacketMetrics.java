@@ -0,0 +1,149 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+import to.itsme.itsmyconfig.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and stage latencies of the packets of one type going through the listener.
+ * <p>
+ * Everything is lock-free, stages are timed with {@link System#nanoTime()}:
+ * <pre>{@code
+ * final long start = System.nanoTime();
+ * ...
+ * metrics.record(PacketMetrics.Stage.UNPACK, start, trace);
+ * }</pre>
+ */
+public final class PacketMetrics implements PacketMetricsMXBean {
+
+    private final String packetType;
+
+    private final LongAdder seen = new LongAdder();
+    private final LongAdder prefixed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+
+    PacketMetrics(final String packetType) {
+        this.packetType = packetType;
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Counts a packet of this type reaching the listener.
+     */
+    public void seen() {
+        seen.increment();
+    }
+
+    /**
+     * Counts a packet holding a prefixed message.
+     */
+    public void prefixed() {
+        prefixed.increment();
+    }
+
+    /**
+     * Counts a packet that got cancelled instead of sent.
+     */
+    public void cancelled() {
+        cancelled.increment();
+    }
+
+    /**
+     * Counts a packet that couldn't be processed.
+     */
+    public void error() {
+        errors.increment();
+    }
+
+    /**
+     * Records how long a stage took, into the trace of the packet as well.
+     *
+     * @param stage the finished stage
+     * @param start the {@link System#nanoTime()} the stage started at
+     * @param trace the trace of the packet
+     */
+    public void record(final Stage stage, final long start, final PacketTrace trace) {
+        final long elapsed = System.nanoTime() - start;
+        stages[stage.ordinal()].record(elapsed);
+        trace.stage(stage, elapsed);
+    }
+
+    public LatencyHistogram histogram(final Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    @Override
+    public String getPacketType() {
+        return packetType;
+    }
+
+    @Override
+    public long getSeen() {
+        return seen.sum();
+    }
+
+    @Override
+    public long getPrefixed() {
+        return prefixed.sum();
+    }
+
+    @Override
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public LatencySummary getUnpackLatency() {
+        return LatencySummary.of(this.histogram(Stage.UNPACK));
+    }
+
+    @Override
+    public LatencySummary getPrefixCheckLatency() {
+        return LatencySummary.of(this.histogram(Stage.PREFIX_CHECK));
+    }
+
+    @Override
+    public LatencySummary getTranslateLatency() {
+        return LatencySummary.of(this.histogram(Stage.TRANSLATE));
+    }
+
+    @Override
+    public LatencySummary getSaveLatency() {
+        return LatencySummary.of(this.histogram(Stage.SAVE));
+    }
+
+    @Override
+    public void reset() {
+        seen.reset();
+        prefixed.reset();
+        cancelled.reset();
+        errors.reset();
+        for (final LatencyHistogram stage : stages) {
+            stage.reset();
+        }
+    }
+
+    public enum Stage {
+
+        /* Reading the message out of the packet */
+        UNPACK,
+        /* Looking for the symbol-prefix */
+        PREFIX_CHECK,
+        /* Translating the prefixed message */
+        TRANSLATE,
+        /* Writing the translation back into the packet */
+        SAVE
+
+    }
+
+}
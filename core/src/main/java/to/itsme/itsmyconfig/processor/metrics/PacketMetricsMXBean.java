@@ -0,0 +1,32 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+/**
+ * The JMX view of the {@link PacketMetrics} of a packet type,
+ * registered as {@code to.itsme.itsmyconfig:type=Pipeline,packet=<name>}.
+ */
+public interface PacketMetricsMXBean {
+
+    String getPacketType();
+
+    long getSeen();
+
+    long getPrefixed();
+
+    long getCancelled();
+
+    long getErrors();
+
+    LatencySummary getUnpackLatency();
+
+    LatencySummary getPrefixCheckLatency();
+
+    LatencySummary getTranslateLatency();
+
+    LatencySummary getSaveLatency();
+
+    /**
+     * Resets every counter and histogram of the packet type.
+     */
+    void reset();
+
+}
@@ -0,0 +1,89 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+import net.kyori.adventure.text.Component;
+import to.itsme.itsmyconfig.util.IMCSerializer;
+
+import java.util.Arrays;
+
+/**
+ * Collects what happens to a traced packet, handed to the {@link PacketTracer} once it's done.
+ * <p>
+ * Packets that aren't traced get {@link #NONE}, on which every call does nothing,
+ * so the listeners never have to check whether they're tracing.
+ */
+public final class PacketTrace {
+
+    public static final PacketTrace NONE = new PacketTrace(false, null, null);
+
+    private final boolean active;
+    private final String player;
+    private final String packetType;
+    private final long timestamp = System.currentTimeMillis();
+    private final long[] stages = new long[PacketMetrics.Stage.values().length];
+
+    private String raw, parsed, translated;
+    private boolean finished;
+
+    PacketTrace(final boolean active, final String player, final String packetType) {
+        this.active = active;
+        this.player = player;
+        this.packetType = packetType;
+        Arrays.fill(stages, -1);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @param raw the message read out of the packet, as MiniMessage
+     */
+    public void raw(final String raw) {
+        if (active) {
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * @param parsed the message without its symbol-prefix
+     */
+    public void parsed(final String parsed) {
+        if (active) {
+            this.parsed = parsed;
+        }
+    }
+
+    /**
+     * @param translated the translated message
+     */
+    public void translated(final Component translated) {
+        if (active && translated != null) {
+            this.translated = IMCSerializer.toMiniMessage(translated);
+        }
+    }
+
+    void stage(final PacketMetrics.Stage stage, final long nanos) {
+        if (active) {
+            stages[stage.ordinal()] = nanos;
+        }
+    }
+
+    /**
+     * Ends the trace, recording it into the tracer's buffer.
+     *
+     * @param outcome what happened to the packet
+     */
+    public synchronized void finish(final String outcome) {
+        if (!active || finished) {
+            return;
+        }
+
+        finished = true;
+        PacketTracer.record(new PacketTracer.Entry(
+                timestamp, player, packetType,
+                raw, parsed, translated,
+                stages.clone(), outcome
+        ));
+    }
+
+}
@@ -0,0 +1,128 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Traces the packets of one player, one packet type and/or a 1-in-N sample into a fixed-size ring buffer,
+ * as a way to look into the listener on a live server without logging every packet.
+ * <p>
+ * Tracing is off by default, in which case {@link #begin(Player, String)} costs a single volatile read.
+ */
+public final class PacketTracer {
+
+    public static final int CAPACITY = 128;
+
+    private static final AtomicReferenceArray<Entry> BUFFER = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong WRITTEN = new AtomicLong();
+    private static final AtomicLong MATCHED = new AtomicLong();
+
+    private static volatile Filter filter;
+
+    private PacketTracer() {}
+
+    /**
+     * Starts tracing the packets matching the filter, replacing the previous one.
+     *
+     * @param filter the packets to trace, {@code null} stops tracing
+     */
+    public static void trace(final Filter filter) {
+        MATCHED.set(0);
+        PacketTracer.filter = filter;
+    }
+
+    /**
+     * @return the current filter, or {@code null} if nothing is traced
+     */
+    public static Filter filter() {
+        return filter;
+    }
+
+    /**
+     * Starts the trace of a packet.
+     *
+     * @param player the player receiving the packet, may be {@code null}
+     * @param packetType the name of the packet type
+     * @return the trace of the packet, {@link PacketTrace#NONE} if it isn't traced
+     */
+    public static PacketTrace begin(final Player player, final String packetType) {
+        final Filter filter = PacketTracer.filter;
+        if (filter == null || !filter.matches(player, packetType)) {
+            return PacketTrace.NONE;
+        }
+
+        if (filter.sampleEvery() > 1 && MATCHED.getAndIncrement() % filter.sampleEvery() != 0) {
+            return PacketTrace.NONE;
+        }
+        return new PacketTrace(true, player == null ? "unknown" : player.getName(), packetType);
+    }
+
+    /**
+     * @return the traced packets still in the buffer, oldest first
+     */
+    public static List<Entry> entries() {
+        final long written = WRITTEN.get();
+        final long first = Math.max(0, written - CAPACITY);
+        final List<Entry> entries = new ArrayList<>((int) (written - first));
+        for (long i = first; i < written; i++) {
+            final Entry entry = BUFFER.get((int) (i % CAPACITY));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Empties the buffer.
+     */
+    public static void clear() {
+        for (int i = 0; i < CAPACITY; i++) {
+            BUFFER.set(i, null);
+        }
+        WRITTEN.set(0);
+    }
+
+    static void record(final Entry entry) {
+        BUFFER.set((int) (WRITTEN.getAndIncrement() % CAPACITY), entry);
+    }
+
+    /**
+     * Which packets get traced, every set criteria having to match.
+     *
+     * @param player the traced player, or {@code null} for every player
+     * @param packetType the traced packet type, or {@code null} for every type
+     * @param sampleEvery traces one in that many matching packets
+     */
+    public record Filter(UUID player, String packetType, int sampleEvery) {
+
+        boolean matches(final Player player, final String packetType) {
+            return (this.player == null || (player != null && this.player.equals(player.getUniqueId())))
+                    && (this.packetType == null || this.packetType.equalsIgnoreCase(packetType));
+        }
+
+    }
+
+    /**
+     * A traced packet.
+     *
+     * @param timestamp when the packet reached the listener, in epoch millis
+     * @param stages the duration of every {@link PacketMetrics.Stage} in nanoseconds, {@code -1} if it didn't run
+     */
+    public record Entry(
+            long timestamp,
+            String player,
+            String packetType,
+            String raw,
+            String parsed,
+            String translated,
+            long[] stages,
+            String outcome
+    ) {}
+
+}
@@ -0,0 +1,94 @@
+package to.itsme.itsmyconfig.processor.metrics;
+
+import to.itsme.itsmyconfig.util.Utilities;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link PacketMetrics} of every packet type seen by the listener,
+ * each one being exposed through JMX as well.
+ */
+public final class PipelineMetrics {
+
+    private static final String DOMAIN = "to.itsme.itsmyconfig";
+
+    private static final Map<String, PacketMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private PipelineMetrics() {}
+
+    /**
+     * Gets the metrics of a packet type, creating and registering them on first use.
+     *
+     * @param packetType the name of the packet type
+     * @return the metrics of the packet type
+     */
+    public static PacketMetrics of(final String packetType) {
+        final PacketMetrics found = METRICS.get(packetType);
+        return found != null ? found : METRICS.computeIfAbsent(packetType, PipelineMetrics::create);
+    }
+
+    /**
+     * @return the metrics of every packet type seen so far, sorted by name
+     */
+    public static List<PacketMetrics> all() {
+        final List<PacketMetrics> all = new ArrayList<>(METRICS.values());
+        all.sort(Comparator.comparing(PacketMetrics::getPacketType));
+        return all;
+    }
+
+    /**
+     * Resets the metrics of every packet type.
+     */
+    public static void reset() {
+        METRICS.values().forEach(PacketMetrics::reset);
+    }
+
+    /**
+     * Unregisters every packet type from JMX and forgets about them.
+     */
+    public static void close() {
+        final Collection<PacketMetrics> registered = new ArrayList<>(METRICS.values());
+        METRICS.clear();
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final PacketMetrics metrics : registered) {
+            try {
+                final ObjectName name = objectName(metrics.getPacketType());
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (final JMException ex) {
+                Utilities.debug(() -> "Couldn't unregister the metrics of " + metrics.getPacketType() + ": ", ex);
+            }
+        }
+    }
+
+    private static PacketMetrics create(final String packetType) {
+        final PacketMetrics metrics = new PacketMetrics(packetType);
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = objectName(packetType);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+        } catch (final JMException | RuntimeException ex) {
+            Utilities.debug(() -> "Couldn't register the metrics of " + packetType + ": ", ex);
+        }
+        return metrics;
+    }
+
+    private static ObjectName objectName(final String packetType) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Pipeline,packet=" + ObjectName.quote(packetType));
+    }
+
+}
@@ -0,0 +1,224 @@
+package to.itsme.itsmyconfig.processor.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import to.itsme.itsmyconfig.processor.AsyncTranslator;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.processor.TranslationCache;
+import to.itsme.itsmyconfig.processor.metrics.PacketMetrics;
+import to.itsme.itsmyconfig.processor.metrics.PacketTrace;
+import to.itsme.itsmyconfig.processor.metrics.PacketTracer;
+import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.util.PrefixedMessage;
+import to.itsme.itsmyconfig.util.Strings;
+import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.jfr.PacketProcessEvent;
+import to.itsme.itsmyconfig.util.reflect.Reflections;
+
+import java.util.Optional;
+
+/**
+ * Sits in front of the packet encoder of a player, translating prefixed chat packets
+ * before they get written.
+ */
+final class ChatHandler extends ChannelOutboundHandlerAdapter {
+
+    static final String NAME = "itsmyconfig";
+
+    /* Player chat isn't translated, but mustn't overtake the held back messages either */
+    private static final Class<?> PLAYER_CHAT_PACKET = Reflections.getClass("net.minecraft.network.protocol.game.ClientboundPlayerChatPacket");
+
+    private final Player player;
+    private final AsyncTranslator asyncTranslator;
+
+    ChatHandler(final Player player, final AsyncTranslator asyncTranslator) {
+        this.player = player;
+        this.asyncTranslator = asyncTranslator;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        final PacketShape shape = PacketShape.of(msg.getClass());
+        if (shape == null) {
+            final boolean queued = this.asyncTranslator != null
+                    && msg.getClass() == PLAYER_CHAT_PACKET
+                    && this.asyncTranslator.isQueued(ctx.channel());
+            this.pass(ctx, msg, promise, queued);
+            return;
+        }
+
+        final PacketProcessEvent processEvent = new PacketProcessEvent();
+        processEvent.begin();
+        try {
+            this.process(ctx, msg, promise, shape);
+        } finally {
+            processEvent.commit("Netty", shape.name());
+        }
+    }
+
+    private void process(
+            final ChannelHandlerContext ctx,
+            final Object msg,
+            final ChannelPromise promise,
+            final PacketShape shape
+    ) {
+        final boolean queued = this.asyncTranslator != null && this.asyncTranslator.isQueued(ctx.channel());
+        final PacketMetrics metrics = shape.metrics();
+        metrics.seen();
+        final PacketTrace trace = PacketTracer.begin(player, shape.name());
+        Utilities.debug(() -> "################# CHAT PACKET #################\nProcessing packet " + msg.getClass().getSimpleName());
+
+        final long unpackStart = System.nanoTime();
+        final String message;
+        try {
+            message = shape.read(msg);
+        } catch (final Throwable throwable) {
+            metrics.error();
+            trace.finish("failed to unpack: " + throwable);
+            Utilities.debug(() -> "Exception while reading the packet: ", throwable);
+            Utilities.debug(() -> Strings.DEBUG_HYPHEN);
+            this.pass(ctx, msg, promise, queued);
+            return;
+        }
+
+        metrics.record(PacketMetrics.Stage.UNPACK, unpackStart, trace);
+        if (message == null) {
+            trace.finish("not prefixed");
+            Utilities.debug(() -> "Packet is null, empty or not prefixed\n" + Strings.DEBUG_HYPHEN);
+            this.pass(ctx, msg, promise, queued);
+            return;
+        }
+
+        trace.raw(message);
+        Utilities.debug(() -> "Found message: " + message);
+        final long prefixStart = System.nanoTime();
+        final Optional<PrefixedMessage> parsed = RecentMessages.parsePrefixed(message);
+        metrics.record(PacketMetrics.Stage.PREFIX_CHECK, prefixStart, trace);
+        if (parsed.isEmpty()) {
+            trace.finish("not prefixed");
+            Utilities.debug(() -> "Message doesn't start w/ the symbol-prefix: " + message + "\n" + Strings.DEBUG_HYPHEN);
+            this.pass(ctx, msg, promise, queued);
+            return;
+        }
+
+        metrics.prefixed();
+        trace.parsed(parsed.get().text());
+        if (parsed.get().profile().consoleOnly()) {
+            metrics.cancelled();
+            trace.finish("cancelled, console-only prefix");
+            Utilities.debug(() -> "Message is console-only, cancelling...\n" + Strings.DEBUG_HYPHEN);
+            promise.trySuccess();
+            return;
+        }
+
+        final boolean shared = TranslationCache.isShared(parsed.get());
+        if (this.asyncTranslator != null) {
+            Utilities.debug(() -> "Holding back the packet for async translation\n" + Strings.DEBUG_HYPHEN);
+            this.asyncTranslator.submit(
+                    ctx.channel(),
+                    () -> this.translate(parsed.get(), metrics, trace),
+                    (translated, release) -> ctx.executor().execute(() -> {
+                        try {
+                            if (translated == null) {
+                                metrics.error();
+                                trace.finish("sent untouched, translation failed or timed out");
+                            }
+                            this.writeTranslated(ctx, shape, msg, promise, translated, shared, metrics, trace);
+                            ctx.flush();
+                        } finally {
+                            release.run();
+                        }
+                    })
+            );
+            return;
+        }
+
+        this.writeTranslated(ctx, shape, msg, promise, this.translate(parsed.get(), metrics, trace), shared, metrics, trace);
+        Utilities.debug(() -> Strings.DEBUG_HYPHEN);
+    }
+
+    private Component translate(final PrefixedMessage parsed, final PacketMetrics metrics, final PacketTrace trace) {
+        final long start = System.nanoTime();
+        final Component translated = TranslationCache.translate(parsed, player);
+        metrics.record(PacketMetrics.Stage.TRANSLATE, start, trace);
+        trace.translated(translated);
+        return translated;
+    }
+
+    /**
+     * Writes the packet with its translated message, or untouched if there's no translation.
+     */
+    private void writeTranslated(
+            final ChannelHandlerContext ctx,
+            final PacketShape shape,
+            final Object msg,
+            final ChannelPromise promise,
+            final Component translated,
+            final boolean shared,
+            final PacketMetrics metrics,
+            final PacketTrace trace
+    ) {
+        if (translated == null) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        if (translated.equals(Component.empty())) {
+            Utilities.debug(() -> "Component is empty, cancelling...");
+            metrics.cancelled();
+            trace.finish("cancelled, empty translation");
+            promise.trySuccess();
+            return;
+        }
+
+        final long saveStart = System.nanoTime();
+        Object rebuilt;
+        try {
+            rebuilt = shape.write(msg, translated, shared);
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Exception while rebuilding the packet: ", throwable);
+            rebuilt = null;
+        }
+
+        if (rebuilt == null) {
+            metrics.error();
+            trace.finish("sent untouched, couldn't rebuild the packet");
+        } else {
+            metrics.record(PacketMetrics.Stage.SAVE, saveStart, trace);
+            trace.finish("translated");
+        }
+
+        Utilities.debug(() -> "Final Product: " + IMCSerializer.toMiniMessage(translated) + "\n" + "Overriding...");
+        ctx.write(rebuilt == null ? msg : rebuilt, promise);
+    }
+
+    /**
+     * Writes an untouched packet, behind the held back ones of the connection if there are any.
+     */
+    private void pass(
+            final ChannelHandlerContext ctx,
+            final Object msg,
+            final ChannelPromise promise,
+            final boolean queued
+    ) {
+        if (!queued) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        this.asyncTranslator.submit(
+                ctx.channel(),
+                (ignored, release) -> ctx.executor().execute(() -> {
+                    try {
+                        ctx.writeAndFlush(msg, promise);
+                    } finally {
+                        release.run();
+                    }
+                })
+        );
+    }
+
+}
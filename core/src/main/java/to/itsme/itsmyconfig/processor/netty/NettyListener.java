@@ -0,0 +1,174 @@
+package to.itsme.itsmyconfig.processor.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.processor.AsyncTranslator;
+import to.itsme.itsmyconfig.processor.PacketListener;
+import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.reflect.FieldAccessor;
+import to.itsme.itsmyconfig.util.reflect.Reflections;
+
+import java.lang.reflect.Method;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A packet listener without any packet library, adding a {@link ChatHandler}
+ * to the netty pipeline of every player once they joined.
+ */
+public final class NettyListener implements PacketListener, Listener {
+
+    /* The handler decoding the packets, ours goes right before it to see the packet objects */
+    private static final String PACKET_HANDLER = "packet_handler";
+
+    private final ItsMyConfig plugin;
+    private final AsyncTranslator asyncTranslator;
+
+    /* Player -> packet listener -> connection -> channel */
+    private Method getHandle;
+    private FieldAccessor<Object> packetListenerField, connectionField;
+    private FieldAccessor<Channel> channelField;
+
+    public NettyListener(
+            final ItsMyConfig plugin,
+            final AsyncTranslator asyncTranslator
+    ) {
+        this.plugin = plugin;
+        this.asyncTranslator = asyncTranslator;
+    }
+
+    @Override
+    public String name() {
+        return "Netty";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void load() {
+        final Class<?> packetListenerClass = Objects.requireNonNull(
+                findClass("net.minecraft.server.network.ServerGamePacketListenerImpl", "net.minecraft.server.network.PlayerConnection"),
+                "Couldn't find the player connection class"
+        );
+        final Class<?> connectionClass = Objects.requireNonNull(
+                findClass("net.minecraft.network.Connection", "net.minecraft.network.NetworkManager"),
+                "Couldn't find the network manager class"
+        );
+        final Class<?> playerClass = Objects.requireNonNull(
+                findClass("net.minecraft.server.level.ServerPlayer", "net.minecraft.server.level.EntityPlayer"),
+                "Couldn't find the server player class"
+        );
+
+        final String craftPackage = plugin.getServer().getClass().getPackage().getName();
+        try {
+            this.getHandle = Class.forName(craftPackage + ".entity.CraftPlayer").getMethod("getHandle");
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException("Couldn't find the CraftPlayer handle", ex);
+        }
+
+        this.packetListenerField = (FieldAccessor<Object>) Reflections.getField(playerClass, packetListenerClass);
+        this.connectionField = (FieldAccessor<Object>) Reflections.getField(packetListenerClass, connectionClass);
+        this.channelField = Reflections.getField(connectionClass, Channel.class);
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getServer().getOnlinePlayers().forEach(this::inject);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(final PlayerJoinEvent event) {
+        this.inject(event.getPlayer());
+    }
+
+    private void inject(final Player player) {
+        final Channel channel = this.channel(player);
+        if (channel == null) {
+            return;
+        }
+
+        final ChannelPipeline pipeline = channel.pipeline();
+        if (pipeline.get(ChatHandler.NAME) != null || pipeline.get(PACKET_HANDLER) == null) {
+            return;
+        }
+
+        try {
+            pipeline.addBefore(PACKET_HANDLER, ChatHandler.NAME, new ChatHandler(player, asyncTranslator));
+        } catch (final IllegalArgumentException | NoSuchElementException ex) {
+            Utilities.debug(() -> "Couldn't inject into " + player.getName() + "'s channel: ", ex);
+        }
+    }
+
+    private void eject(final Player player) {
+        final Channel channel = this.channel(player);
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.pipeline().remove(ChatHandler.NAME);
+        } catch (final NoSuchElementException ignored) {}
+    }
+
+    private Channel channel(final Player player) {
+        try {
+            final Object handle = getHandle.invoke(player);
+            final Object connection = connectionField.get(packetListenerField.get(handle));
+            return channelField.get(connection);
+        } catch (final ReflectiveOperationException | RuntimeException ex) {
+            Utilities.debug(() -> "Couldn't find " + player.getName() + "'s channel: ", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean sendSilently(final Player player, final Component component) {
+        final Channel channel = this.channel(player);
+        if (channel == null || (this.asyncTranslator != null && this.asyncTranslator.isQueued(channel))) {
+            return false;
+        }
+
+        // Writing from our handler's context skips it
+        final ChannelHandlerContext context = channel.pipeline().context(ChatHandler.NAME);
+        if (context == null) {
+            return false;
+        }
+
+        try {
+            final Object packet = PacketShape.systemChat(component);
+            if (packet == null) {
+                return false;
+            }
+            context.writeAndFlush(packet);
+            return true;
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Exception while sending a message silently: ", throwable);
+            return false;
+        }
+    }
+
+    private static Class<?> findClass(final String... paths) {
+        for (final String path : paths) {
+            final Class<?> found = Reflections.getClass(path);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        HandlerList.unregisterAll(this);
+        if (channelField != null) {
+            plugin.getServer().getOnlinePlayers().forEach(this::eject);
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+package to.itsme.itsmyconfig.processor.netty;
+
+import net.kyori.adventure.text.Component;
+import to.itsme.itsmyconfig.processor.EncodedCache;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.processor.metrics.PacketMetrics;
+import to.itsme.itsmyconfig.processor.metrics.PipelineMetrics;
+import to.itsme.itsmyconfig.util.AdventureUtil;
+import to.itsme.itsmyconfig.util.PrefixProbe;
+import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.reflect.Reflections;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The layout of a chat packet record, telling where its message is and how to rebuild it.
+ * <p>
+ * Packets are immutable records, so a translated packet is a copy made through the canonical
+ * constructor with only the message replaced. Layouts are resolved once per packet class.
+ */
+final class PacketShape {
+
+    /* Packets handled by the other listeners as well */
+    private static final Set<String> PACKETS = Set.of(
+            "ClientboundSystemChatPacket",
+            "ClientboundDisconnectPacket"
+    );
+
+    private static final Class<?> SYSTEM_CHAT_PACKET = Reflections.getClass("net.minecraft.network.protocol.game.ClientboundSystemChatPacket");
+
+    private static final ClassValue<Optional<PacketShape>> SHAPES = new ClassValue<>() {
+        @Override
+        protected Optional<PacketShape> computeValue(final Class<?> type) {
+            return Optional.ofNullable(create(type));
+        }
+    };
+
+    private final String name;
+    private final MethodHandle constructor;
+    private final MethodHandle[] accessors;
+    private final Object[] defaults;
+
+    /* Indexes of the record components that may hold the message, in reading order */
+    private final int[] messages;
+    private final Kind[] kinds;
+
+    private PacketShape(
+            final String name,
+            final MethodHandle constructor,
+            final MethodHandle[] accessors,
+            final Object[] defaults,
+            final int[] messages,
+            final Kind[] kinds
+    ) {
+        this.name = name;
+        this.constructor = constructor;
+        this.accessors = accessors;
+        this.defaults = defaults;
+        this.messages = messages;
+        this.kinds = kinds;
+    }
+
+    /**
+     * @return the layout of a packet class, or {@code null} if it isn't a handled chat packet
+     */
+    static PacketShape of(final Class<?> type) {
+        return SHAPES.get(type).orElse(null);
+    }
+
+    /**
+     * Creates a system chat packet holding the message, outside of the action bar.
+     *
+     * @return the packet, or {@code null} if the server has no system chat record
+     */
+    static Object systemChat(final Component component) throws Throwable {
+        final PacketShape shape = SYSTEM_CHAT_PACKET == null ? null : of(SYSTEM_CHAT_PACKET);
+        if (shape == null) {
+            return null;
+        }
+
+        final Object converted = convert(shape.kinds[0], component, false);
+        if (converted == null) {
+            return null;
+        }
+
+        final Object[] arguments = shape.defaults.clone();
+        arguments[shape.messages[0]] = converted;
+        return (Object) shape.constructor.invokeExact(arguments);
+    }
+
+    /**
+     * @return the simple name of the packet class
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * @return the metrics of the packets of this layout
+     */
+    PacketMetrics metrics() {
+        return PipelineMetrics.of(name);
+    }
+
+    /**
+     * Reads the message of a packet.
+     *
+     * @return the message as MiniMessage, or {@code null} if it can't start with the symbol-prefix
+     */
+    String read(final Object packet) throws Throwable {
+        for (int i = 0; i < messages.length; i++) {
+            final Object value = (Object) accessors[messages[i]].invokeExact(packet);
+            if (value == null) {
+                continue;
+            }
+
+            return switch (kinds[i]) {
+                case JSON -> PrefixProbe.isPrefixedJson((String) value) ? RecentMessages.toMiniMessage((String) value) : null;
+                case ADVENTURE -> miniMessage(AdventureUtil.toComponent(value));
+                case VANILLA -> miniMessage(VanillaComponents.toComponent(value));
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Copies a packet with its message replaced.
+     *
+     * @return the new packet, or {@code null} if the message couldn't be converted
+     */
+    Object write(final Object packet, final Component component, final boolean shared) throws Throwable {
+        final Object[] arguments = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            arguments[i] = (Object) accessors[i].invokeExact(packet);
+        }
+
+        for (int i = 0; i < messages.length; i++) {
+            final int index = messages[i];
+            if (arguments[index] == null) {
+                continue;
+            }
+
+            final Object converted = convert(kinds[i], component, shared);
+            if (converted == null) {
+                return null;
+            }
+
+            arguments[index] = converted;
+            return (Object) constructor.invokeExact(arguments);
+        }
+        return null;
+    }
+
+    private static Object convert(final Kind kind, final Component component, final boolean shared) {
+        return switch (kind) {
+            case JSON -> EncodedCache.encode(EncodedCache.Format.JSON, component, shared, Utilities.GSON_SERIALIZER::serialize);
+            case ADVENTURE -> EncodedCache.encode(EncodedCache.Format.ADVENTURE, component, shared, AdventureUtil::fromComponent);
+            // Native components are mutable, every packet gets its own
+            case VANILLA -> VanillaComponents.fromComponent(component);
+        };
+    }
+
+    private static String miniMessage(final Component component) {
+        return PrefixProbe.isPrefixed(component) ? RecentMessages.toMiniMessage(component) : null;
+    }
+
+    private static PacketShape create(final Class<?> type) {
+        if (!type.isRecord() || !PACKETS.contains(type.getSimpleName())) {
+            return null;
+        }
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final RecordComponent[] components = type.getRecordComponents();
+            final Class<?>[] types = new Class<?>[components.length];
+            final MethodHandle[] accessors = new MethodHandle[components.length];
+            final Object[] defaults = new Object[components.length];
+            final List<Integer> messages = new ArrayList<>(2);
+            final List<Kind> kinds = new ArrayList<>(2);
+
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+                if (types[i].isPrimitive()) {
+                    defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+                }
+
+                final Method accessor = components[i].getAccessor();
+                accessor.setAccessible(true);
+                accessors[i] = lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class));
+
+                final Kind kind = Kind.of(types[i]);
+                if (kind != null) {
+                    messages.add(i);
+                    kinds.add(kind);
+                }
+            }
+
+            if (messages.isEmpty()) {
+                return null;
+            }
+
+            final Constructor<?> canonical = type.getDeclaredConstructor(types);
+            canonical.setAccessible(true);
+            final MethodHandle constructor = lookup.unreflectConstructor(canonical)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+
+            Utilities.debug(() -> "Resolved the layout of " + type.getName() + ", messages at " + messages + " as " + kinds);
+            return new PacketShape(
+                    type.getSimpleName(),
+                    constructor,
+                    accessors,
+                    defaults,
+                    messages.stream().mapToInt(Integer::intValue).toArray(),
+                    kinds.toArray(Kind[]::new)
+            );
+        } catch (final ReflectiveOperationException | RuntimeException ex) {
+            Utilities.debug(() -> "Couldn't resolve the layout of " + type.getName() + ": ", ex);
+            return null;
+        }
+    }
+
+    private enum Kind {
+
+        ADVENTURE,
+        VANILLA,
+        JSON;
+
+        private static Kind of(final Class<?> type) {
+            if (type == AdventureUtil.getComponentClass()) {
+                return ADVENTURE;
+            } else if (type == VanillaComponents.COMPONENT_CLASS) {
+                return VANILLA;
+            } else if (type == String.class) {
+                return JSON;
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package to.itsme.itsmyconfig.processor.netty;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import to.itsme.itsmyconfig.util.AdventureBridge;
+import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.reflect.Reflections;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Converts vanilla chat components, through Paper's Adventure bridge when available
+ * and through CraftBukkit's json conversion otherwise.
+ */
+final class VanillaComponents {
+
+    static final Class<?> COMPONENT_CLASS;
+
+    private static final MethodHandle TO_JSON, FROM_JSON;
+
+    static {
+        Class<?> componentClass = Reflections.getClass("net.minecraft.network.chat.Component");
+        if (componentClass == null) {
+            componentClass = Reflections.getClass("net.minecraft.network.chat.IChatBaseComponent");
+        }
+
+        MethodHandle toJson = null, fromJson = null;
+        if (componentClass != null) {
+            try {
+                final Class<?> chatMessage = Class.forName(Bukkit.getServer().getClass().getPackage().getName() + ".util.CraftChatMessage");
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final MethodHandle to = lookup.unreflect(chatMessage.getMethod("toJSON", componentClass));
+                final MethodHandle from = lookup.unreflect(chatMessage.getMethod("fromJSON", String.class));
+                toJson = to.asType(to.type().erase());
+                fromJson = from.asType(from.type().erase());
+            } catch (final ReflectiveOperationException ignored) {}
+        }
+
+        COMPONENT_CLASS = componentClass;
+        TO_JSON = toJson;
+        FROM_JSON = fromJson;
+    }
+
+    private VanillaComponents() {}
+
+    static Component toComponent(final Object vanilla) {
+        final Component converted = AdventureBridge.fromVanilla(vanilla);
+        if (converted != null || TO_JSON == null) {
+            return converted;
+        }
+
+        try {
+            return Utilities.GSON_SERIALIZER.deserialize((String) (Object) TO_JSON.invokeExact(vanilla));
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't read the vanilla component: ", throwable);
+            return null;
+        }
+    }
+
+    static Object fromComponent(final Component component) {
+        final Object converted = AdventureBridge.toVanilla(component);
+        if (converted != null || FROM_JSON == null) {
+            return converted;
+        }
+
+        try {
+            return (Object) FROM_JSON.invokeExact((Object) Utilities.GSON_SERIALIZER.serialize(component));
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't create the vanilla component: ", throwable);
+            return null;
+        }
+    }
+
+}
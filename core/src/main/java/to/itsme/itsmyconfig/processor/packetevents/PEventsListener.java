@@ -4,19 +4,32 @@ import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.event.PacketListenerCommon;
 import com.github.retrooper.packetevents.event.PacketListenerPriority;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
 import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerChatMessage;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDisconnect;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSystemChatMessage;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
+import to.itsme.itsmyconfig.processor.AsyncTranslator;
 import to.itsme.itsmyconfig.processor.PacketContent;
 import to.itsme.itsmyconfig.processor.PacketListener;
 import to.itsme.itsmyconfig.processor.PacketProcessor;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.processor.TranslationCache;
+import to.itsme.itsmyconfig.processor.metrics.PacketMetrics;
+import to.itsme.itsmyconfig.processor.metrics.PacketTrace;
+import to.itsme.itsmyconfig.processor.metrics.PacketTracer;
+import to.itsme.itsmyconfig.processor.metrics.PipelineMetrics;
 import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.util.PrefixedMessage;
 import to.itsme.itsmyconfig.util.Strings;
 import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.jfr.PacketProcessEvent;
 
 import java.util.Map;
 import java.util.Optional;
@@ -26,6 +39,9 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
     private PacketListenerCommon common;
     private static final String FAIL_MESSAGE_PREFIX = "<color:red><lang:multiplayer.message_not_delivered:";
 
+    private final boolean rawPrefixScan;
+    private final AsyncTranslator asyncTranslator;
+
     /* Cache packet processors for quick access */
     private final Map<PacketType.Play.Server, PacketProcessor<?>> packetTypeMap = Map.of(
             /*PacketType.Play.Server.CHAT_MESSAGE, PEventsProcessor.CHAT_MESSAGE,*/
@@ -33,6 +49,14 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
             PacketType.Play.Server.DISCONNECT, PEventsProcessor.DISCONNECT
     );
 
+    public PEventsListener(
+            final boolean rawPrefixScan,
+            final AsyncTranslator asyncTranslator
+    ) {
+        this.rawPrefixScan = rawPrefixScan;
+        this.asyncTranslator = asyncTranslator;
+    }
+
     @Override
     public String name() {
         return "PacketEvents";
@@ -45,7 +69,6 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void onPacketSend(final PacketSendEvent event) {
         final PacketTypeCommon type = event.getPacketType();
 
@@ -53,15 +76,52 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
             return;
         }
 
+        if (server == PacketType.Play.Server.CHAT_MESSAGE) {
+            this.passPlayerChat(event);
+            return;
+        }
+
         final PacketProcessor<?> processor = packetTypeMap.get(server);
         if (processor == null) {
             return;
         }
 
+        final PacketProcessEvent processEvent = new PacketProcessEvent();
+        processEvent.begin();
+        try {
+            this.process(event, server, processor);
+        } finally {
+            processEvent.commit(this.name(), server.name());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void process(
+            final PacketSendEvent event,
+            final PacketType.Play.Server server,
+            final PacketProcessor<?> processor
+    ) {
+        final PacketMetrics metrics = PipelineMetrics.of(server.name());
+        metrics.seen();
+        final PacketTrace trace = PacketTracer.begin(event.getPlayer(), server.name());
+
+        // The server closes the channel once a disconnect packet is written, holding one back would lose it
+        final boolean holdable = this.asyncTranslator != null && server != PacketType.Play.Server.DISCONNECT;
+
+        // Packets queued behind held back ones have to be decoded to be written later on
+        final boolean queued = holdable && this.asyncTranslator.isQueued(event.getChannel());
+
+        // Skip decoding packets that don't even hold the prefix bytes
+        if (!queued && this.rawPrefixScan && !RawPrefixScan.mayBePrefixed(event.getByteBuf())) {
+            trace.finish("skipped by the raw prefix scan");
+            return;
+        }
+
         Utilities.debug(() -> "################# CHAT PACKET #################\nProcessing packet " + server.name());
 
         // Convert to wrapped packet only once
-        Object wrappedPacket = switch (server) {
+        final long unpackStart = System.nanoTime();
+        final PacketWrapper<?> wrappedPacket = switch (server) {
             case CHAT_MESSAGE -> new WrapperPlayServerChatMessage(event);
             case SYSTEM_CHAT_MESSAGE -> new WrapperPlayServerSystemChatMessage(event);
             case DISCONNECT -> new WrapperPlayServerDisconnect(event);
@@ -78,34 +138,67 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
         try {
             packet = ((PacketProcessor<Object>) processor).unpack(wrappedPacket);
         } catch (final Exception ex) {
+            metrics.error();
+            trace.finish("failed to unpack: " + ex);
             Utilities.debug(() -> "Exception while unpacking the packet: ", ex);
             Utilities.debug(() -> Strings.DEBUG_HYPHEN);
+            this.pass(event, wrappedPacket, queued);
             return;
         }
 
+        metrics.record(PacketMetrics.Stage.UNPACK, unpackStart, trace);
         if (packet == null || packet.isEmpty()) {
-            Utilities.debug(() -> "Packet is null or empty\n" + Strings.DEBUG_HYPHEN);
+            trace.finish("not prefixed");
+            Utilities.debug(() -> "Packet is null, empty or not prefixed\n" + Strings.DEBUG_HYPHEN);
+            this.pass(event, wrappedPacket, queued);
             return;
         }
 
         final String message = packet.message();
+        trace.raw(message);
         Utilities.debug(() -> "Found message: " + message);
 
         if (message.startsWith(FAIL_MESSAGE_PREFIX)) {
             Utilities.debug(() -> "Message send failure message, cancelling...");
+            metrics.cancelled();
+            trace.finish("cancelled, message send failure");
             event.setCancelled(true);
             return;
         }
 
-        final Optional<String> parsed = Strings.parsePrefixedMessage(message);
+        final long prefixStart = System.nanoTime();
+        final Optional<PrefixedMessage> parsed = RecentMessages.parsePrefixed(message);
+        metrics.record(PacketMetrics.Stage.PREFIX_CHECK, prefixStart, trace);
         if (parsed.isEmpty()) {
+            trace.finish("not prefixed");
             Utilities.debug(() -> "Message doesn't start w/ the symbol-prefix: " + message + "\n" + Strings.DEBUG_HYPHEN);
+            this.pass(event, wrappedPacket, queued);
+            return;
+        }
+
+        metrics.prefixed();
+        trace.parsed(parsed.get().text());
+        if (parsed.get().profile().consoleOnly()) {
+            metrics.cancelled();
+            trace.finish("cancelled, console-only prefix");
+            event.setCancelled(true);
+            Utilities.debug(() -> "Message is console-only, cancelling...\n" + Strings.DEBUG_HYPHEN);
             return;
         }
 
         final Player player = event.getPlayer();
-        final Component translated = Utilities.translate(parsed.get(), player);
+        if (holdable) {
+            this.hold(event, wrappedPacket, packet, parsed.get(), player, metrics, trace);
+            return;
+        }
+
+        final long translateStart = System.nanoTime();
+        final Component translated = TranslationCache.translate(parsed.get(), player);
+        metrics.record(PacketMetrics.Stage.TRANSLATE, translateStart, trace);
+        trace.translated(translated);
         if (translated.equals(Component.empty())) {
+            metrics.cancelled();
+            trace.finish("cancelled, empty translation");
             event.setCancelled(true);
             Utilities.debug(() -> "Component is empty, cancelling...\n" + Strings.DEBUG_HYPHEN);
             return;
@@ -113,10 +206,116 @@ public class PEventsListener implements PacketListener, com.github.retrooper.pac
 
         Utilities.debug(() -> "Final Product: " + IMCSerializer.toMiniMessage(translated) + "\n" + "Overriding...");
         event.markForReEncode(true);
+        final long saveStart = System.nanoTime();
         packet.save(translated);
+        metrics.record(PacketMetrics.Stage.SAVE, saveStart, trace);
+        trace.finish("translated");
         Utilities.debug(() -> Strings.DEBUG_HYPHEN);
     }
 
+    /**
+     * Holds the packet back, writing it once translated on the worker pool.
+     */
+    private void hold(
+            final PacketSendEvent event,
+            final PacketWrapper<?> wrappedPacket,
+            final PacketContent<?> packet,
+            final PrefixedMessage parsed,
+            final Player player,
+            final PacketMetrics metrics,
+            final PacketTrace trace
+    ) {
+        event.setCancelled(true);
+        Utilities.debug(() -> "Holding back the packet for async translation\n" + Strings.DEBUG_HYPHEN);
+
+        final Object channel = event.getChannel();
+        final User user = event.getUser();
+        this.asyncTranslator.submit(
+                channel,
+                () -> {
+                    final long start = System.nanoTime();
+                    final Component translated = TranslationCache.translate(parsed, player);
+                    metrics.record(PacketMetrics.Stage.TRANSLATE, start, trace);
+                    trace.translated(translated);
+                    return translated;
+                },
+                (translated, release) -> ChannelHelper.runInEventLoop(channel, () -> {
+                    try {
+                        if (translated == null) {
+                            metrics.error();
+                            trace.finish("sent untouched, translation failed or timed out");
+                            user.sendPacketSilently(wrappedPacket);
+                        } else if (translated.equals(Component.empty())) {
+                            metrics.cancelled();
+                            trace.finish("cancelled, empty translation");
+                        } else {
+                            final long start = System.nanoTime();
+                            packet.save(translated);
+                            metrics.record(PacketMetrics.Stage.SAVE, start, trace);
+                            trace.finish("translated asynchronously");
+                            user.sendPacketSilently(wrappedPacket);
+                        }
+                    } finally {
+                        release.run();
+                    }
+                })
+        );
+    }
+
+    /**
+     * Queues a player chat packet behind the held back ones of its connection, if there are any.
+     * Player chat isn't translated, but mustn't overtake the held back messages either.
+     */
+    private void passPlayerChat(final PacketSendEvent event) {
+        if (this.asyncTranslator == null || !this.asyncTranslator.isQueued(event.getChannel())) {
+            return;
+        }
+
+        this.pass(event, new WrapperPlayServerChatMessage(event), true);
+    }
+
+    /**
+     * Queues an untouched packet behind the held back ones of its connection, if there are any.
+     */
+    private void pass(
+            final PacketSendEvent event,
+            final PacketWrapper<?> wrappedPacket,
+            final boolean queued
+    ) {
+        if (!queued) {
+            return;
+        }
+
+        event.setCancelled(true);
+        final Object channel = event.getChannel();
+        final User user = event.getUser();
+        this.asyncTranslator.submit(
+                channel,
+                (ignored, release) -> ChannelHelper.runInEventLoop(channel, () -> {
+                    try {
+                        user.sendPacketSilently(wrappedPacket);
+                    } finally {
+                        release.run();
+                    }
+                })
+        );
+    }
+
+    @Override
+    public boolean sendSilently(final Player player, final Component component) {
+        if (PacketEvents.getAPI().getServerManager().getVersion().isOlderThan(ServerVersion.V_1_19)) {
+            return false;
+        }
+
+        final User user = PacketEvents.getAPI().getPlayerManager().getUser(player);
+        if (user == null || (this.asyncTranslator != null && this.asyncTranslator.isQueued(user.getChannel()))) {
+            return false;
+        }
+
+        user.sendPacketSilently(new WrapperPlayServerSystemChatMessage(false, component));
+        return true;
+    }
+
     @Override
     public void close() {
         PacketEvents.getAPI().getEventManager().unregisterListener(this.common);
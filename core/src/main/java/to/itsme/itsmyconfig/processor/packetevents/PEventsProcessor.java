@@ -8,7 +8,8 @@ import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import to.itsme.itsmyconfig.processor.PacketContent;
 import to.itsme.itsmyconfig.processor.PacketProcessor;
-import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.util.PrefixProbe;
 
 public class PEventsProcessor {
 
@@ -27,7 +28,10 @@ public class PEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerChatMessage> unpack(WrapperPlayServerChatMessage wrappedPacket) {
             Component internal = wrappedPacket.getMessage().getChatContent();
-            return new PacketContent<>(wrappedPacket, this, IMCSerializer.toMiniMessage(internal));
+            if (!PrefixProbe.isPrefixed(internal)) {
+                return PacketContent.empty(wrappedPacket, this);
+            }
+            return new PacketContent<>(wrappedPacket, this, RecentMessages.toMiniMessage(internal));
         }
     };
 
@@ -45,7 +49,10 @@ public class PEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerSystemChatMessage> unpack(WrapperPlayServerSystemChatMessage wrappedPacket) {
             Component internal = wrappedPacket.getMessage();
-            return new PacketContent<>(wrappedPacket, this, IMCSerializer.toMiniMessage(internal));
+            if (!PrefixProbe.isPrefixed(internal)) {
+                return PacketContent.empty(wrappedPacket, this);
+            }
+            return new PacketContent<>(wrappedPacket, this, RecentMessages.toMiniMessage(internal));
         }
     };
 
@@ -63,7 +70,10 @@ public class PEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerDisconnect> unpack(WrapperPlayServerDisconnect wrappedPacket) {
             Component internal = wrappedPacket.getReason();
-            return new PacketContent<>(wrappedPacket, this, IMCSerializer.toMiniMessage(internal));
+            if (!PrefixProbe.isPrefixed(internal)) {
+                return PacketContent.empty(wrappedPacket, this);
+            }
+            return new PacketContent<>(wrappedPacket, this, RecentMessages.toMiniMessage(internal));
         }
     };
 }
@@ -0,0 +1,116 @@
+package to.itsme.itsmyconfig.processor.packetevents;
+
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import to.itsme.itsmyconfig.util.PrefixProfile;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Looks for the prefixes of every profile inside an encoded packet without decoding it.
+ * <p>
+ * Chat components are either written as a json string or as nbt, both keep
+ * the text as plain UTF-8 bytes for any prefix made of non-special BMP characters,
+ * so a message that doesn't contain the prefix bytes can't start with the prefix.
+ * The incognito prefixes wrap the plain ones, so looking for the latter covers both.
+ */
+final class RawPrefixScan {
+
+    private static volatile Needles needles;
+
+    private RawPrefixScan() {}
+
+    /**
+     * Scans the readable bytes of a buffer for the prefixes.
+     *
+     * @param buffer the netty buffer of the packet
+     * @return {@code false} only if the packet surely doesn't hold any prefix
+     */
+    static boolean mayBePrefixed(final Object buffer) {
+        final byte[][] bytes = needles().bytes;
+        if (bytes == null || buffer == null) {
+            return true;
+        }
+
+        final int start = ByteBufHelper.readerIndex(buffer);
+        final int end = ByteBufHelper.writerIndex(buffer);
+        for (final byte[] needle : bytes) {
+            if (contains(buffer, start, end, needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(final Object buffer, final int start, final int end, final byte[] bytes) {
+        final byte first = bytes[0];
+        final int last = end - bytes.length;
+        for (int i = start; i <= last; i++) {
+            if (ByteBufHelper.getByte(buffer, i) != first) {
+                continue;
+            }
+
+            int matched = 1;
+            while (matched < bytes.length && ByteBufHelper.getByte(buffer, i + matched) == bytes[matched]) {
+                matched++;
+            }
+
+            if (matched == bytes.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the encoded prefixes, re-encoding them whenever the profiles change.
+     */
+    private static Needles needles() {
+        final List<PrefixProfile> profiles = Strings.prefixProfiles();
+        Needles current = needles;
+        if (current == null || current.profiles != profiles) {
+            current = new Needles(profiles, encode(profiles));
+            needles = current;
+        }
+        return current;
+    }
+
+    /**
+     * Encodes the prefixes the way they show up in the packet.
+     *
+     * @return the bytes of each prefix, or {@code null} if any of them can't be found reliably in raw data
+     */
+    private static byte[][] encode(final List<PrefixProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return null;
+        }
+
+        final byte[][] encoded = new byte[profiles.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(profiles.get(i).prefix());
+            if (encoded[i] == null) {
+                return null;
+            }
+        }
+        return encoded;
+    }
+
+    private static byte[] encode(final String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            final char character = prefix.charAt(i);
+            // escaped in json, or written differently by nbt's modified UTF-8
+            if (character == '"' || character == '\\' || character < 0x20 || Character.isSurrogate(character)) {
+                return null;
+            }
+        }
+        return prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Needles(List<PrefixProfile> profiles, byte[][] bytes) {}
+
+}
@@ -9,25 +9,35 @@ import com.comphenix.protocol.events.PacketEvent;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.processor.AsyncTranslator;
 import to.itsme.itsmyconfig.processor.PacketContent;
 import to.itsme.itsmyconfig.processor.PacketListener;
+import to.itsme.itsmyconfig.processor.RecentMessages;
+import to.itsme.itsmyconfig.processor.TranslationCache;
+import to.itsme.itsmyconfig.processor.metrics.PacketMetrics;
+import to.itsme.itsmyconfig.processor.metrics.PacketTrace;
+import to.itsme.itsmyconfig.processor.metrics.PacketTracer;
+import to.itsme.itsmyconfig.processor.metrics.PipelineMetrics;
 import to.itsme.itsmyconfig.util.IMCSerializer;
+import to.itsme.itsmyconfig.util.PrefixedMessage;
 import to.itsme.itsmyconfig.util.Strings;
 import to.itsme.itsmyconfig.util.Utilities;
+import to.itsme.itsmyconfig.util.jfr.PacketProcessEvent;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 public final class PLibListener extends PacketAdapter implements PacketListener {
 
-    /* Here we cache the packet check types for faster handling */
-    private final Map<PacketType, PLibProcessor> packetTypeMap = new HashMap<>(4);
-    private final boolean cacheProcessors;
+    /* The processors able to read each packet type on this server, in the order they're tried */
+    private final Map<PacketType, List<PLibProcessor>> packetTypeMap;
+
+    /* Held back packets being written, let through once they come through the listener again */
+    private final ResentPackets resent = new ResentPackets();
+    private final AsyncTranslator asyncTranslator;
 
     public PLibListener(
             final ItsMyConfig plugin,
-            final boolean cacheProcessors
+            final AsyncTranslator asyncTranslator
     ) {
         super(
                 plugin,
@@ -36,7 +46,8 @@ public final class PLibListener extends PacketAdapter implements PacketListener
                 PacketType.Play.Server.SYSTEM_CHAT,
                 PacketType.Play.Server.KICK_DISCONNECT
         );
-        this.cacheProcessors = cacheProcessors;
+        this.packetTypeMap = resolveProcessors(this.getSendingWhitelist().getTypes());
+        this.asyncTranslator = asyncTranslator;
     }
 
     @Override
@@ -52,61 +63,240 @@ public final class PLibListener extends PacketAdapter implements PacketListener
     @Override
     public void onPacketSending(final PacketEvent event) {
         final PacketContainer container = event.getPacket();
+        if (this.asyncTranslator != null && this.resent.claim(container.getHandle())) {
+            return;
+        }
+
+        final PacketProcessEvent processEvent = new PacketProcessEvent();
+        processEvent.begin();
+        try {
+            this.process(event, container);
+        } finally {
+            processEvent.commit(this.name(), container.getType().name());
+        }
+    }
+
+    private void process(final PacketEvent event, final PacketContainer container) {
+        final Player player = event.getPlayer();
         final PacketType type = container.getType();
+
+        // The server closes the channel once a disconnect packet is written, holding one back would lose it
+        final boolean holdable = this.asyncTranslator != null && type != PacketType.Play.Server.KICK_DISCONNECT;
+        final boolean queued = holdable && this.asyncTranslator.isQueued(player);
+
+        final PacketMetrics metrics = PipelineMetrics.of(type.name());
+        metrics.seen();
+        final PacketTrace trace = PacketTracer.begin(player, type.name());
+
         Utilities.debug(() -> "################# CHAT PACKET #################\nProccessing packet " + type.name());
-        final PacketContent<PacketContainer> packet = this.processPacket(container);
+        final long unpackStart = System.nanoTime();
+        final PacketContent<PacketContainer> packet;
+        try {
+            packet = this.processPacket(container);
+        } catch (final Exception ex) {
+            metrics.error();
+            trace.finish("failed to unpack: " + ex);
+            Utilities.debug(() -> "Exception while unpacking the packet: ", ex);
+            Utilities.debug(() -> Strings.DEBUG_HYPHEN);
+            this.pass(event, queued);
+            return;
+        }
+
+        metrics.record(PacketMetrics.Stage.UNPACK, unpackStart, trace);
         if (packet == null || packet.isEmpty()) {
-            Utilities.debug(() -> "Packet is null or empty\n" + Strings.DEBUG_HYPHEN);
+            trace.finish("not prefixed");
+            Utilities.debug(() -> "Packet is null, empty or not prefixed\n" + Strings.DEBUG_HYPHEN);
+            this.pass(event, queued);
             return;
         }
 
         final String message = packet.message();
+        trace.raw(message);
         Utilities.debug(() -> "Found message: " + message);
 
-        final Optional<String> parsed = Strings.parsePrefixedMessage(message);
+        final long prefixStart = System.nanoTime();
+        final Optional<PrefixedMessage> parsed = RecentMessages.parsePrefixed(message);
+        metrics.record(PacketMetrics.Stage.PREFIX_CHECK, prefixStart, trace);
         if (parsed.isEmpty()) {
+            trace.finish("not prefixed");
             Utilities.debug(() -> "Message doesn't start w/ the symbol-prefix: " + message + "\n" + Strings.DEBUG_HYPHEN);
+            this.pass(event, queued);
             return;
         }
 
-        final Player player = event.getPlayer();
-        final Component translated = Utilities.translate(parsed.get(), player);
+        metrics.prefixed();
+        trace.parsed(parsed.get().text());
+        if (parsed.get().profile().consoleOnly()) {
+            metrics.cancelled();
+            trace.finish("cancelled, console-only prefix");
+            event.setCancelled(true);
+            Utilities.debug(() -> "Message is console-only, cancelling...\n" + Strings.DEBUG_HYPHEN);
+            return;
+        }
+
+        if (holdable) {
+            this.hold(event, packet, parsed.get(), metrics, trace);
+            return;
+        }
+
+        final long translateStart = System.nanoTime();
+        final Component translated = TranslationCache.translate(parsed.get(), player);
+        metrics.record(PacketMetrics.Stage.TRANSLATE, translateStart, trace);
+        trace.translated(translated);
         if (translated.equals(Component.empty())) {
+            metrics.cancelled();
+            trace.finish("cancelled, empty translation");
             event.setCancelled(true);
             Utilities.debug(() -> "Component is empty, cancelling...\n" + Strings.DEBUG_HYPHEN);
             return;
         }
 
         Utilities.debug(() -> "Final Product: " + IMCSerializer.toMiniMessage(translated) + "\n" + "Overriding...");
-        packet.save(translated);
+        final long saveStart = System.nanoTime();
+        packet.save(translated, TranslationCache.isShared(parsed.get()));
+        metrics.record(PacketMetrics.Stage.SAVE, saveStart, trace);
+        trace.finish("translated");
         Utilities.debug(() -> Strings.DEBUG_HYPHEN);
     }
 
+    /**
+     * Holds the packet back, writing it once translated on the worker pool.
+     */
+    private void hold(
+            final PacketEvent event,
+            final PacketContent<PacketContainer> packet,
+            final PrefixedMessage parsed,
+            final PacketMetrics metrics,
+            final PacketTrace trace
+    ) {
+        event.setCancelled(true);
+        Utilities.debug(() -> "Holding back the packet for async translation\n" + Strings.DEBUG_HYPHEN);
+
+        final Player player = event.getPlayer();
+        final PacketContainer container = event.getPacket();
+        this.asyncTranslator.submit(
+                player,
+                () -> {
+                    final long start = System.nanoTime();
+                    final Component translated = TranslationCache.translate(parsed, player);
+                    metrics.record(PacketMetrics.Stage.TRANSLATE, start, trace);
+                    trace.translated(translated);
+                    return translated;
+                },
+                (translated, release) -> {
+                    if (translated == null) {
+                        metrics.error();
+                        trace.finish("sent untouched, translation failed or timed out");
+                    } else if (translated.equals(Component.empty())) {
+                        metrics.cancelled();
+                        trace.finish("cancelled, empty translation");
+                        release.run();
+                        return;
+                    } else {
+                        final long start = System.nanoTime();
+                        packet.save(translated, TranslationCache.isShared(parsed));
+                        metrics.record(PacketMetrics.Stage.SAVE, start, trace);
+                        trace.finish("translated asynchronously");
+                    }
+                    this.write(player, container, release);
+                }
+        );
+    }
+
+    /**
+     * Queues an untouched packet behind the held back ones of its player, if there are any.
+     */
+    private void pass(final PacketEvent event, final boolean queued) {
+        if (!queued) {
+            return;
+        }
+
+        event.setCancelled(true);
+        final Player player = event.getPlayer();
+        final PacketContainer container = event.getPacket();
+        this.asyncTranslator.submit(player, (ignored, release) -> this.write(player, container, release));
+    }
+
+    /**
+     * Writes a held back packet through the listeners, releasing its lane once it was handed to the channel.
+     */
+    private void write(
+            final Player player,
+            final PacketContainer container,
+            final Runnable release
+    ) {
+        this.resent.forward(
+                container.getHandle(),
+                () -> ProtocolLibrary.getProtocolManager().sendServerPacket(player, container),
+                release
+        );
+    }
+
     private PacketContent<PacketContainer> processPacket(final PacketContainer container) {
-        final PacketType type = container.getType();
-        final PLibProcessor foundProcessor = packetTypeMap.get(type);
-        if (foundProcessor != null) {
-            Utilities.debug(() -> "Using " + foundProcessor.name() + " to unpack the packet (cached)");
-            return foundProcessor.unpack(container);
+        final List<PLibProcessor> processors = packetTypeMap.get(container.getType());
+        if (processors == null) {
+            return null;
         }
 
-        Utilities.debug(() -> "Figuring " + type.name() + "'s packet processor..");
-        for (final PLibProcessor processor : PLibProcessor.values()) {
-            Utilities.debug(() -> "Trying " + processor.name() + "..");
+        for (final PLibProcessor processor : processors) {
             final PacketContent<PacketContainer> unpacked = processor.unpack(container);
             if (unpacked != null) {
-                if (cacheProcessors) {
-                    packetTypeMap.put(type, processor);
-                    Utilities.debug(() -> "Caching " + processor.name() + " for packet " + type.name());
-                } else Utilities.debug(() -> "Matched processor " + processor.name() + " for packet " + type.name());
                 return unpacked;
             }
-            Utilities.debug(() -> "Didn't work, trying next (if there is) ..");
         }
-
         return null;
     }
 
+    /**
+     * Figures out which processors can read each packet type, using an empty packet of every type.
+     *
+     * @param types the listened packet types
+     * @return an immutable lookup table of the processors to try per packet type
+     */
+    private static Map<PacketType, List<PLibProcessor>> resolveProcessors(final Collection<PacketType> types) {
+        final Map<PacketType, List<PLibProcessor>> resolved = new HashMap<>(types.size());
+        for (final PacketType type : types) {
+            if (!type.isSupported()) {
+                continue;
+            }
+
+            List<PLibProcessor> processors;
+            try {
+                final PacketContainer sample = new PacketContainer(type);
+                processors = Arrays.stream(PLibProcessor.values())
+                        .filter(processor -> processor.supports(sample))
+                        .toList();
+            } catch (final Exception ex) {
+                Utilities.debug(() -> "Couldn't create a sample " + type.name() + " packet, trying every processor on it: ", ex);
+                processors = List.of(PLibProcessor.values());
+            }
+
+            final List<PLibProcessor> found = processors;
+            Utilities.debug(() -> "Resolved processors for packet " + type.name() + ": " + found);
+            resolved.put(type, found);
+        }
+        return Map.copyOf(resolved);
+    }
+
+    @Override
+    public boolean sendSilently(final Player player, final Component component) {
+        final List<PLibProcessor> processors = packetTypeMap.get(PacketType.Play.Server.SYSTEM_CHAT);
+        if (processors == null || processors.isEmpty()
+                || (this.asyncTranslator != null && this.asyncTranslator.isQueued(player))) {
+            return false;
+        }
+
+        try {
+            final PacketContainer container = new PacketContainer(PacketType.Play.Server.SYSTEM_CHAT);
+            processors.get(0).edit(container, component);
+            ProtocolLibrary.getProtocolManager().sendServerPacket(player, container, false);
+            return true;
+        } catch (final Exception ex) {
+            Utilities.debug(() -> "Exception while sending a message silently: ", ex);
+            return false;
+        }
+    }
+
     @Override
     public void close() {
         ProtocolLibrary.getProtocolManager().removePacketListener(this);
@@ -7,8 +7,10 @@ import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import net.kyori.adventure.text.Component;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
+import to.itsme.itsmyconfig.processor.EncodedCache;
 import to.itsme.itsmyconfig.processor.PacketProcessor;
 import to.itsme.itsmyconfig.processor.PacketContent;
+import to.itsme.itsmyconfig.processor.RecentMessages;
 import to.itsme.itsmyconfig.util.*;
 
 public enum PLibProcessor implements PacketProcessor<PacketContainer> {
@@ -16,10 +18,17 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
     SERVER_ADVENTURE {
 
         @Override
-        public void edit(PacketContainer container, Component component) {
+        boolean supports(PacketContainer container) {
+            return Versions.IS_PAPER && Versions.MINOR >= 16
+                    && container.getModifier().withType(AdventureComponentConverter.getComponentClass()).size() == 1;
+        }
+
+        @Override
+        public void edit(PacketContainer container, Component component, boolean shared) {
             final StructureModifier<Object> modifier = container.getModifier().withType(AdventureComponentConverter.getComponentClass());
-            modifier.write(0, AdventureComponentConverter.fromJsonAsObject(
-                Utilities.GSON_SERIALIZER.serialize(component)
+            final Object converted = EncodedCache.encode(EncodedCache.Format.ADVENTURE, component, shared, AdventureBridge::toNative);
+            modifier.write(0, converted != null ? converted : AdventureComponentConverter.fromJsonAsObject(
+                EncodedCache.encode(EncodedCache.Format.JSON, component, shared, Utilities.GSON_SERIALIZER::serialize)
             ));
         }
 
@@ -39,18 +48,27 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
                 return null;
             }
 
-            return this.of(container, IMCSerializer.toMiniMessage(
-                AdventureUtil.toComponent(component)
-            ));
+            final Component converted = AdventureUtil.toComponent(component);
+            if (!PrefixProbe.isPrefixed(converted)) {
+                return this.empty(container);
+            }
+            return this.of(container, RecentMessages.toMiniMessage(converted));
         }
     },
 
     WRAPPED_COMPONENT {
 
         @Override
-        public void edit(PacketContainer container, Component component) {
-            container.getChatComponents().write(0, WrappedChatComponent.fromJson(
-                    Utilities.GSON_SERIALIZER.serialize(component)
+        boolean supports(PacketContainer container) {
+            return container.getChatComponents().size() > 0;
+        }
+
+        @Override
+        public void edit(PacketContainer container, Component component, boolean shared) {
+            // Native components are mutable, every packet gets its own
+            final Object handle = AdventureBridge.toVanilla(component);
+            container.getChatComponents().write(0, handle != null ? WrappedChatComponent.fromHandle(handle) : WrappedChatComponent.fromJson(
+                    EncodedCache.encode(EncodedCache.Format.JSON, component, shared, Utilities.GSON_SERIALIZER::serialize)
             ));
         }
 
@@ -66,8 +84,12 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
                 return null;
             }
 
+            if (!PrefixProbe.isPrefixedJson(found)) {
+                return this.empty(container);
+            }
+
             try {
-                return this.of(container, IMCSerializer.toMiniMessage(found));
+                return this.of(container, RecentMessages.toMiniMessage(found));
             } catch (final Exception e) {
                 Utilities.debug(() -> "An error happened while de/serializing " + found + ": ", e);
             }
@@ -78,6 +100,11 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
 
     @SuppressWarnings("deprecation") BUNGEE_COMPONENT {
 
+        @Override
+        boolean supports(PacketContainer container) {
+            return container.getModifier().withType(TextComponent.class).size() == 1;
+        }
+
         @Override
         public void edit(PacketContainer container, Component component) {
             container.getModifier().withType(TextComponent.class).write(0, new TextComponent(
@@ -89,13 +116,17 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
         public PacketContent<PacketContainer> unpack(PacketContainer container) {
             final StructureModifier<TextComponent> textComponentModifier = container.getModifier().withType(TextComponent.class);
             if (textComponentModifier.size() == 1) {
-                return this.of(container, processBaseComponents(textComponentModifier.readSafely(0)));
+                return processBaseComponents(container, textComponentModifier.readSafely(0));
             }
             return null;
         }
 
-        private String processBaseComponents(final BaseComponent... components) {
-            return IMCSerializer.toMiniMessage(Utilities.BUNGEE_SERIALIZER.deserialize(components));
+        private PacketContent<PacketContainer> processBaseComponents(final PacketContainer container, final BaseComponent... components) {
+            final Component component = Utilities.BUNGEE_SERIALIZER.deserialize(components);
+            if (!PrefixProbe.isPrefixed(component)) {
+                return this.empty(container);
+            }
+            return this.of(container, RecentMessages.toMiniMessage(component));
         }
 
     },
@@ -103,8 +134,13 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
     JSON {
 
         @Override
-        public void edit(PacketContainer container, Component component) {
-            container.getStrings().write(0, Utilities.GSON_SERIALIZER.serialize(component));
+        boolean supports(PacketContainer container) {
+            return container.getStrings().size() > 0;
+        }
+
+        @Override
+        public void edit(PacketContainer container, Component component, boolean shared) {
+            container.getStrings().write(0, EncodedCache.encode(EncodedCache.Format.JSON, component, shared, Utilities.GSON_SERIALIZER::serialize));
         }
 
         @Override
@@ -113,13 +149,34 @@ public enum PLibProcessor implements PacketProcessor<PacketContainer> {
             if (rawMessage == null) {
                 return null;
             }
-            return this.of(container, IMCSerializer.toMiniMessage(rawMessage));
+
+            if (!PrefixProbe.isPrefixedJson(rawMessage)) {
+                return this.empty(container);
+            }
+            return this.of(container, RecentMessages.toMiniMessage(rawMessage));
         }
 
     };
 
+    @Override
+    public void edit(PacketContainer container, Component component) {
+        this.edit(container, component, false);
+    }
+
+    /**
+     * Checks whether the packet has a field this processor can read, regardless of its value.
+     *
+     * @param container a packet of the type to check
+     * @return {@code true} if {@link #unpack(PacketContainer)} may succeed for packets of that type
+     */
+    abstract boolean supports(final PacketContainer container);
+
     PacketContent<PacketContainer> of(final PacketContainer container, final String message) {
         return new PacketContent<>(container, this, message);
     }
 
+    PacketContent<PacketContainer> empty(final PacketContainer container) {
+        return PacketContent.empty(container, this);
+    }
+
 }
@@ -0,0 +1,56 @@
+package to.itsme.itsmyconfig.processor.protocollib;
+
+import to.itsme.itsmyconfig.util.Utilities;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * The held back packets being written again through the listeners, which must let them through untouched.
+ * <p>
+ * ProtocolLib runs the listeners before the packet reaches the channel, so a lane is only released
+ * once the send returned: releasing it from the listener would write the next packet of the lane
+ * nested in the current dispatch, overtaking it on the wire.
+ */
+final class ResentPackets {
+
+    private final Set<Object> handles = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /**
+     * Checks whether a packet coming through the listeners is a held back one being written.
+     *
+     * @param handle the packet's handle
+     * @return {@code true} if the packet must be let through untouched
+     */
+    boolean claim(final Object handle) {
+        return handles.remove(handle);
+    }
+
+    /**
+     * Writes a held back packet, releasing its lane once it was handed to the channel.
+     *
+     * @param handle the packet's handle
+     * @param sender sends the packet through the listeners
+     * @param release lets the next packet of the lane go
+     */
+    void forward(final Object handle, final Sender sender, final Runnable release) {
+        handles.add(handle);
+        try {
+            sender.send();
+        } catch (final Exception ex) {
+            handles.remove(handle);
+            Utilities.debug(() -> "Exception while writing a held back packet: ", ex);
+        } finally {
+            release.run();
+        }
+    }
+
+    @FunctionalInterface
+    interface Sender {
+
+        void send() throws Exception;
+
+    }
+
+}
@@ -1,12 +1,12 @@
 package to.itsme.itsmyconfig.requirement;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.Nullable;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.requirement.type.NumberRequirement;
 import to.itsme.itsmyconfig.requirement.type.RegexRequirement;
 import to.itsme.itsmyconfig.requirement.type.StringRequirement;
+import to.itsme.itsmyconfig.util.Utilities;
 
 import java.util.Set;
 
@@ -111,7 +111,7 @@ public final class RequirementManager {
             return replacedArgs;
         }
 
-        return PlaceholderAPI.setPlaceholders(player, replacedArgs);
+        return Utilities.setPlaceholders(player, replacedArgs);
     }
 
 }
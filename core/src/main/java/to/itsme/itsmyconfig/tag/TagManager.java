@@ -9,6 +9,7 @@ import to.itsme.itsmyconfig.tag.impl.*;
 import to.itsme.itsmyconfig.tag.impl.title.SubtitleTag;
 import to.itsme.itsmyconfig.tag.impl.title.TitleTag;
 import to.itsme.itsmyconfig.tag.impl.toast.ToastTag;
+import to.itsme.itsmyconfig.util.jfr.TagProcessEvent;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,13 +38,29 @@ public final class TagManager {
         INITIAL_CAPACITY = defaultCapacity.get();
     }
 
+    /**
+     * Gets the names of all registered argument tags.
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(tags.keySet());
+    }
+
     public static String process(
             final Player player,
             @NotNull String text
     ) {
+        final TagProcessEvent event = new TagProcessEvent();
+        event.begin();
+        final int length = text.length();
+
         // handle argument tags
         text = processArgumentTags(player, text);
 
+        if (event.shouldCommit()) {
+            event.messageLength = length;
+            event.resultLength = text.length();
+            event.commit();
+        }
         return text;
     }
 
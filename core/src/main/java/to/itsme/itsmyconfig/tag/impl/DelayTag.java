@@ -35,7 +35,7 @@ public class DelayTag extends ArgumentsTag {
         Scheduler.runLaterAsync(() -> {
             final Component component = Utilities.translate(text, player);
             if (!Component.empty().equals(component)) {
-                AudienceResolver.resolve(player).sendMessage(component);
+                AudienceResolver.sendTranslated(player, component);
             }
         }, delayInTicks);
         return "";
@@ -83,7 +83,7 @@ public class RepeatTag extends ArgumentsTag implements Cancellable {
             );
 
             if (!Component.empty().equals(translated)) {
-                AudienceResolver.resolve(player).sendMessage(translated);
+                AudienceResolver.sendTranslated(player, translated);
             }
 
         }, 0L, delayInTicks);
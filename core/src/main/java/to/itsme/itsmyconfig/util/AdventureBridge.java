@@ -0,0 +1,657 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.ShadowColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between the plugin's relocated Adventure components and the server's own ones
+ * by walking the component tree, without encoding and parsing json in between.
+ * <p>
+ * The server classes can't be referenced directly as they would get relocated as well,
+ * so every factory is looked up once and kept as a {@link MethodHandle}.
+ * Nodes that can't be rebuilt this way (scores, selectors, nbt, item or entity hovers,
+ * non-textual click payloads...) make the conversion return {@code null},
+ * leaving the caller to fall back to json.
+ */
+public final class AdventureBridge {
+
+    private static final String NATIVE = "net{}kyori{}adventure{}".replace("{}", ".");
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static final boolean SUPPORTED;
+
+    /* Component factories */
+    private static final MethodHandle TEXT, KEYBIND, TRANSLATABLE, TRANSLATABLE_WITH_FALLBACK, CHILDREN;
+
+    /* Style building */
+    private static final Object EMPTY_STYLE;
+    private static final MethodHandle STYLE_BUILDER, STYLE_BUILD;
+    private static final MethodHandle STYLE_COLOR, STYLE_SHADOW_COLOR, STYLE_DECORATION, STYLE_FONT;
+    private static final MethodHandle STYLE_INSERTION, STYLE_CLICK_EVENT, STYLE_HOVER_EVENT;
+
+    /* Style values */
+    private static final MethodHandle TEXT_COLOR, NAMED_COLOR, SHADOW_COLOR, KEY, CLICK_EVENT, SHOW_TEXT;
+    private static final Object[] DECORATIONS, STATES;
+    private static final Map<String, Object> CLICK_ACTIONS;
+
+    /* Reading the server's components */
+    private static final Class<?> TEXT_CLASS, TRANSLATABLE_CLASS, KEYBIND_CLASS, NAMED_COLOR_CLASS;
+    private static final MethodHandle STYLE_OF, CHILDREN_OF, CONTENT_OF, KEY_OF, FALLBACK_OF, ARGS_OF, ARGUMENT_VALUE, KEYBIND_OF;
+    private static final MethodHandle IS_EMPTY, COLOR_OF, SHADOW_COLOR_OF, DECORATION_OF, FONT_OF, INSERTION_OF;
+    private static final MethodHandle CLICK_EVENT_OF, HOVER_EVENT_OF;
+    private static final MethodHandle COLOR_VALUE, SHADOW_COLOR_VALUE, KEY_NAMESPACE, KEY_VALUE;
+    private static final MethodHandle CLICK_ACTION, CLICK_VALUE, HOVER_ACTION, HOVER_VALUE;
+
+    /* Paper's conversions between its own and vanilla components */
+    private static final MethodHandle AS_VANILLA, AS_ADVENTURE;
+
+    static {
+        boolean supported = false;
+        MethodHandle text = null, keybind = null, translatable = null, translatableWithFallback = null, children = null;
+        Object emptyStyle = null;
+        MethodHandle styleBuilder = null, styleBuild = null;
+        MethodHandle styleColor = null, styleShadowColor = null, styleDecoration = null, styleFont = null;
+        MethodHandle styleInsertion = null, styleClickEvent = null, styleHoverEvent = null;
+        MethodHandle textColor = null, namedColor = null, shadowColor = null, key = null, clickEvent = null, showText = null;
+        Object[] decorations = null, states = null;
+        final Map<String, Object> clickActions = new HashMap<>();
+        Class<?> textClass = null, translatableClass = null, keybindClass = null, namedColorClass = null;
+        MethodHandle styleOf = null, childrenOf = null, contentOf = null, keyOf = null, fallbackOf = null, argsOf = null, argumentValue = null, keybindOf = null;
+        MethodHandle isEmpty = null, colorOf = null, shadowColorOf = null, decorationOf = null, fontOf = null, insertionOf = null;
+        MethodHandle clickEventOf = null, hoverEventOf = null;
+        MethodHandle colorValue = null, shadowColorValue = null, keyNamespace = null, keyValue = null;
+        MethodHandle clickAction = null, clickValue = null, hoverAction = null, hoverValue = null;
+        MethodHandle asVanilla = null, asAdventure = null;
+
+        try {
+            final Class<?> componentClass = Class.forName(NATIVE + "text.Component");
+            final Class<?> styleClass = Class.forName(NATIVE + "text.format.Style");
+            final Class<?> builderClass = Class.forName(NATIVE + "text.format.Style$Builder");
+            final Class<?> textColorClass = Class.forName(NATIVE + "text.format.TextColor");
+            final Class<?> decorationClass = Class.forName(NATIVE + "text.format.TextDecoration");
+            final Class<?> stateClass = Class.forName(NATIVE + "text.format.TextDecoration$State");
+            final Class<?> keyClass = Class.forName(NATIVE + "key.Key");
+            final Class<?> clickEventClass = Class.forName(NATIVE + "text.event.ClickEvent");
+            final Class<?> clickActionClass = Class.forName(NATIVE + "text.event.ClickEvent$Action");
+            final Class<?> hoverEventClass = Class.forName(NATIVE + "text.event.HoverEvent");
+            final Class<?> hoverSourceClass = Class.forName(NATIVE + "text.event.HoverEventSource");
+
+            text = handle(componentClass, "text", String.class, styleClass);
+            keybind = handle(componentClass, "keybind", String.class, styleClass);
+            translatable = handle(componentClass, "translatable", String.class, styleClass, List.class);
+            children = handle(componentClass, "children", List.class);
+
+            emptyStyle = styleClass.getMethod("empty").invoke(null);
+            styleBuilder = handle(styleClass, "style");
+            styleBuild = handle(builderClass, "build");
+            styleColor = setter(builderClass, "color", textColorClass);
+            styleDecoration = setter(builderClass, "decoration", decorationClass, stateClass);
+            styleFont = setter(builderClass, "font", keyClass);
+            styleInsertion = setter(builderClass, "insertion", String.class);
+            styleClickEvent = setter(builderClass, "clickEvent", clickEventClass);
+            styleHoverEvent = setter(builderClass, "hoverEvent", hoverSourceClass);
+
+            textColor = handle(textColorClass, "color", int.class);
+            namedColorClass = Class.forName(NATIVE + "text.format.NamedTextColor");
+            namedColor = handle(namedColorClass, "namedColor", int.class);
+            key = handle(keyClass, "key", String.class, String.class);
+            clickEvent = handle(clickEventClass, "clickEvent", clickActionClass, String.class);
+            showText = handle(hoverEventClass, "showText", componentClass);
+
+            decorations = byName(decorationClass, TextDecoration.values());
+            states = byName(stateClass, TextDecoration.State.values());
+            for (final Object action : clickActionClass.getEnumConstants()) {
+                clickActions.put(action.toString(), action);
+            }
+
+            textClass = Class.forName(NATIVE + "text.TextComponent");
+            translatableClass = Class.forName(NATIVE + "text.TranslatableComponent");
+            keybindClass = Class.forName(NATIVE + "text.KeybindComponent");
+            styleOf = handle(componentClass, "style");
+            childrenOf = handle(componentClass, "children");
+            contentOf = handle(textClass, "content");
+            keyOf = handle(translatableClass, "key");
+            keybindOf = handle(keybindClass, "keybind");
+
+            isEmpty = handle(styleClass, "isEmpty");
+            colorOf = handle(styleClass, "color");
+            decorationOf = handle(styleClass, "decoration", decorationClass);
+            fontOf = handle(styleClass, "font");
+            insertionOf = handle(styleClass, "insertion");
+            clickEventOf = handle(styleClass, "clickEvent");
+            hoverEventOf = handle(styleClass, "hoverEvent");
+
+            colorValue = handle(textColorClass, "value");
+            keyNamespace = handle(keyClass, "namespace");
+            keyValue = handle(keyClass, "value");
+            clickAction = handle(clickEventClass, "action");
+            clickValue = handle(clickEventClass, "value");
+            hoverAction = handle(hoverEventClass, "action");
+            hoverValue = handle(hoverEventClass, "value");
+
+            // Translation arguments (4.15+), fallbacks (4.13+) and shadow colors (4.18+) depend on the server's version
+            try {
+                argsOf = handle(translatableClass, "arguments");
+                argumentValue = handle(Class.forName(NATIVE + "text.TranslationArgument"), "value");
+            } catch (final ReflectiveOperationException ignored) {
+                argsOf = handle(translatableClass, "args");
+                argumentValue = null;
+            }
+
+            supported = true;
+
+            try {
+                translatableWithFallback = handle(componentClass, "translatable", String.class, String.class, styleClass, List.class);
+                fallbackOf = handle(translatableClass, "fallback");
+            } catch (final ReflectiveOperationException ignored) {
+                translatableWithFallback = null;
+            }
+
+            try {
+                final Class<?> shadowColorClass = Class.forName(NATIVE + "text.format.ShadowColor");
+                styleShadowColor = setter(builderClass, "shadowColor", shadowColorClass);
+                shadowColor = handle(shadowColorClass, "shadowColor", int.class);
+                shadowColorOf = handle(styleClass, "shadowColor");
+                shadowColorValue = handle(shadowColorClass, "value");
+            } catch (final ReflectiveOperationException ignored) {
+                styleShadowColor = null;
+                shadowColor = null;
+                shadowColorOf = null;
+            }
+
+            try {
+                final Class<?> paperAdventure = Class.forName("io.papermc.paper.adventure.PaperAdventure");
+                asVanilla = handle(paperAdventure, "asVanilla", componentClass);
+                for (final Method method : paperAdventure.getMethods()) {
+                    if (method.getName().equals("asAdventure") && method.getParameterCount() == 1
+                            && method.getReturnType() == componentClass) {
+                        final MethodHandle handle = LOOKUP.unreflect(method);
+                        asAdventure = handle.asType(handle.type().erase());
+                    }
+                }
+            } catch (final ReflectiveOperationException ignored) {}
+        } catch (final ReflectiveOperationException | RuntimeException ignored) {
+            // The server doesn't ship Adventure, everything goes through json
+        }
+
+        SUPPORTED = supported;
+        TEXT = text;
+        KEYBIND = keybind;
+        TRANSLATABLE = translatable;
+        TRANSLATABLE_WITH_FALLBACK = translatableWithFallback;
+        CHILDREN = children;
+        EMPTY_STYLE = emptyStyle;
+        STYLE_BUILDER = styleBuilder;
+        STYLE_BUILD = styleBuild;
+        STYLE_COLOR = styleColor;
+        STYLE_SHADOW_COLOR = styleShadowColor;
+        STYLE_DECORATION = styleDecoration;
+        STYLE_FONT = styleFont;
+        STYLE_INSERTION = styleInsertion;
+        STYLE_CLICK_EVENT = styleClickEvent;
+        STYLE_HOVER_EVENT = styleHoverEvent;
+        TEXT_COLOR = textColor;
+        NAMED_COLOR = namedColor;
+        SHADOW_COLOR = shadowColor;
+        KEY = key;
+        CLICK_EVENT = clickEvent;
+        SHOW_TEXT = showText;
+        DECORATIONS = decorations;
+        STATES = states;
+        CLICK_ACTIONS = Map.copyOf(clickActions);
+        TEXT_CLASS = textClass;
+        TRANSLATABLE_CLASS = translatableClass;
+        KEYBIND_CLASS = keybindClass;
+        NAMED_COLOR_CLASS = namedColorClass;
+        STYLE_OF = styleOf;
+        CHILDREN_OF = childrenOf;
+        CONTENT_OF = contentOf;
+        KEY_OF = keyOf;
+        FALLBACK_OF = fallbackOf;
+        ARGS_OF = argsOf;
+        ARGUMENT_VALUE = argumentValue;
+        KEYBIND_OF = keybindOf;
+        IS_EMPTY = isEmpty;
+        COLOR_OF = colorOf;
+        SHADOW_COLOR_OF = shadowColorOf;
+        DECORATION_OF = decorationOf;
+        FONT_OF = fontOf;
+        INSERTION_OF = insertionOf;
+        CLICK_EVENT_OF = clickEventOf;
+        HOVER_EVENT_OF = hoverEventOf;
+        COLOR_VALUE = colorValue;
+        SHADOW_COLOR_VALUE = shadowColorValue;
+        KEY_NAMESPACE = keyNamespace;
+        KEY_VALUE = keyValue;
+        CLICK_ACTION = clickAction;
+        CLICK_VALUE = clickValue;
+        HOVER_ACTION = hoverAction;
+        HOVER_VALUE = hoverValue;
+        AS_VANILLA = asVanilla;
+        AS_ADVENTURE = asAdventure;
+    }
+
+    private AdventureBridge() {}
+
+    /**
+     * Converts a component into the server's Adventure component.
+     *
+     * @param component the relocated component
+     * @return the server's component, or {@code null} if it has to go through json
+     */
+    public static Object toNative(final Component component) {
+        if (!SUPPORTED || component == null) {
+            return null;
+        }
+
+        try {
+            return convert(component);
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't convert the component to the server's Adventure: ", throwable);
+            return null;
+        }
+    }
+
+    /**
+     * Converts one of the server's Adventure components into a relocated component.
+     *
+     * @param component the server's component
+     * @return the relocated component, or {@code null} if it has to go through json
+     */
+    public static Component fromNative(final Object component) {
+        if (!SUPPORTED || component == null) {
+            return null;
+        }
+
+        try {
+            return convertNative(component);
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't convert the server's Adventure component: ", throwable);
+            return null;
+        }
+    }
+
+    /**
+     * Converts a component into a vanilla chat component, using Paper's own conversion.
+     *
+     * @param component the relocated component
+     * @return the vanilla component, or {@code null} if it has to go through json
+     */
+    public static Object toVanilla(final Component component) {
+        if (AS_VANILLA == null) {
+            return null;
+        }
+
+        final Object converted = toNative(component);
+        if (converted == null) {
+            return null;
+        }
+
+        try {
+            return (Object) AS_VANILLA.invokeExact(converted);
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't convert the component to a vanilla one: ", throwable);
+            return null;
+        }
+    }
+
+    /**
+     * Converts a vanilla chat component into a relocated component, using Paper's own conversion.
+     *
+     * @param component the vanilla component
+     * @return the relocated component, or {@code null} if it has to go through json
+     */
+    public static Component fromVanilla(final Object component) {
+        if (AS_ADVENTURE == null || component == null) {
+            return null;
+        }
+
+        final Object converted;
+        try {
+            converted = (Object) AS_ADVENTURE.invokeExact(component);
+        } catch (final Throwable throwable) {
+            Utilities.debug(() -> "Couldn't convert the vanilla component: ", throwable);
+            return null;
+        }
+        return fromNative(converted);
+    }
+
+    private static Object convert(final Component component) throws Throwable {
+        final Object style = style(component.style());
+        if (style == null) {
+            return null;
+        }
+
+        final Object converted;
+        if (component instanceof TextComponent text) {
+            converted = (Object) TEXT.invokeExact((Object) text.content(), style);
+        } else if (component instanceof TranslatableComponent translatable) {
+            converted = translatable(translatable, style);
+        } else if (component instanceof KeybindComponent keybind) {
+            converted = (Object) KEYBIND.invokeExact((Object) keybind.keybind(), style);
+        } else {
+            return null;
+        }
+
+        final List<Component> children = component.children();
+        if (converted == null || children.isEmpty()) {
+            return converted;
+        }
+
+        final List<Object> convertedChildren = new ArrayList<>(children.size());
+        for (final Component child : children) {
+            final Object convertedChild = convert(child);
+            if (convertedChild == null) {
+                return null;
+            }
+            convertedChildren.add(convertedChild);
+        }
+        return (Object) CHILDREN.invokeExact(converted, (Object) convertedChildren);
+    }
+
+    private static Object translatable(final TranslatableComponent translatable, final Object style) throws Throwable {
+        final List<TranslationArgument> arguments = translatable.arguments();
+        final List<Object> convertedArguments = new ArrayList<>(arguments.size());
+        for (final TranslationArgument argument : arguments) {
+            if (!(argument.value() instanceof Component component)) {
+                return null;
+            }
+
+            final Object converted = convert(component);
+            if (converted == null) {
+                return null;
+            }
+            convertedArguments.add(converted);
+        }
+
+        final String fallback = translatable.fallback();
+        if (TRANSLATABLE_WITH_FALLBACK != null) {
+            return (Object) TRANSLATABLE_WITH_FALLBACK.invokeExact(
+                    (Object) translatable.key(), (Object) fallback, style, (Object) convertedArguments
+            );
+        }
+
+        if (fallback != null) {
+            return null;
+        }
+        return (Object) TRANSLATABLE.invokeExact((Object) translatable.key(), style, (Object) convertedArguments);
+    }
+
+    private static Object style(final Style style) throws Throwable {
+        if (style.isEmpty()) {
+            return EMPTY_STYLE;
+        }
+
+        final Object builder = (Object) STYLE_BUILDER.invokeExact();
+
+        final TextColor color = style.color();
+        if (color != null) {
+            STYLE_COLOR.invokeExact(builder, color(color));
+        }
+
+        final ShadowColor shadowColor = style.shadowColor();
+        if (shadowColor != null) {
+            if (STYLE_SHADOW_COLOR == null) {
+                return null;
+            }
+            STYLE_SHADOW_COLOR.invokeExact(builder, (Object) SHADOW_COLOR.invokeExact(shadowColor.value()));
+        }
+
+        for (final TextDecoration decoration : TextDecoration.values()) {
+            final TextDecoration.State state = style.decoration(decoration);
+            if (state != TextDecoration.State.NOT_SET) {
+                STYLE_DECORATION.invokeExact(builder, DECORATIONS[decoration.ordinal()], STATES[state.ordinal()]);
+            }
+        }
+
+        final Key font = style.font();
+        if (font != null) {
+            STYLE_FONT.invokeExact(builder, (Object) KEY.invokeExact((Object) font.namespace(), (Object) font.value()));
+        }
+
+        final String insertion = style.insertion();
+        if (insertion != null) {
+            STYLE_INSERTION.invokeExact(builder, (Object) insertion);
+        }
+
+        final ClickEvent<?> clickEvent = style.clickEvent();
+        if (clickEvent != null) {
+            final Object action = CLICK_ACTIONS.get(clickEvent.action().toString());
+            if (action == null || !(clickEvent.payload() instanceof ClickEvent.Payload.Text payload)) {
+                return null;
+            }
+            STYLE_CLICK_EVENT.invokeExact(builder, (Object) CLICK_EVENT.invokeExact(action, (Object) payload.value()));
+        }
+
+        final HoverEvent<?> hoverEvent = style.hoverEvent();
+        if (hoverEvent != null) {
+            if (hoverEvent.action() != HoverEvent.Action.SHOW_TEXT) {
+                return null;
+            }
+
+            final Object hoverText = convert((Component) hoverEvent.value());
+            if (hoverText == null) {
+                return null;
+            }
+            STYLE_HOVER_EVENT.invokeExact(builder, (Object) SHOW_TEXT.invokeExact(hoverText));
+        }
+
+        return (Object) STYLE_BUILD.invokeExact(builder);
+    }
+
+    private static Object color(final TextColor color) throws Throwable {
+        if (color instanceof NamedTextColor) {
+            final Object named = (Object) NAMED_COLOR.invokeExact(color.value());
+            if (named != null) {
+                return named;
+            }
+        }
+        return (Object) TEXT_COLOR.invokeExact(color.value());
+    }
+
+    private static Component convertNative(final Object component) throws Throwable {
+        final Style style = nativeStyle((Object) STYLE_OF.invokeExact(component));
+        if (style == null) {
+            return null;
+        }
+
+        final Component converted;
+        if (TEXT_CLASS.isInstance(component)) {
+            converted = Component.text((String) (Object) CONTENT_OF.invokeExact(component), style);
+        } else if (TRANSLATABLE_CLASS.isInstance(component)) {
+            converted = nativeTranslatable(component, style);
+        } else if (KEYBIND_CLASS.isInstance(component)) {
+            converted = Component.keybind((String) (Object) KEYBIND_OF.invokeExact(component), style);
+        } else {
+            return null;
+        }
+
+        final List<?> children = (List<?>) (Object) CHILDREN_OF.invokeExact(component);
+        if (converted == null || children.isEmpty()) {
+            return converted;
+        }
+
+        final List<Component> convertedChildren = new ArrayList<>(children.size());
+        for (final Object child : children) {
+            final Component convertedChild = convertNative(child);
+            if (convertedChild == null) {
+                return null;
+            }
+            convertedChildren.add(convertedChild);
+        }
+        return converted.children(convertedChildren);
+    }
+
+    private static Component nativeTranslatable(final Object translatable, final Style style) throws Throwable {
+        final List<?> arguments = (List<?>) (Object) ARGS_OF.invokeExact(translatable);
+        final List<ComponentLike> convertedArguments = new ArrayList<>(arguments.size());
+        for (final Object argument : arguments) {
+            final Object value = ARGUMENT_VALUE == null ? argument : (Object) ARGUMENT_VALUE.invokeExact(argument);
+            if (value instanceof Number number) {
+                convertedArguments.add(TranslationArgument.numeric(number));
+            } else if (value instanceof Boolean bool) {
+                convertedArguments.add(TranslationArgument.bool(bool));
+            } else {
+                final Component converted = convertNative(value);
+                if (converted == null) {
+                    return null;
+                }
+                convertedArguments.add(converted);
+            }
+        }
+
+        final String key = (String) (Object) KEY_OF.invokeExact(translatable);
+        final String fallback = FALLBACK_OF == null ? null : (String) (Object) FALLBACK_OF.invokeExact(translatable);
+        return Component.translatable(key, fallback, style, convertedArguments);
+    }
+
+    private static Style nativeStyle(final Object style) throws Throwable {
+        if ((boolean) IS_EMPTY.invokeExact(style)) {
+            return Style.empty();
+        }
+
+        final Style.Builder builder = Style.style();
+
+        final Object color = (Object) COLOR_OF.invokeExact(style);
+        if (color != null) {
+            final int value = (int) COLOR_VALUE.invokeExact(color);
+            final TextColor named = NAMED_COLOR_CLASS.isInstance(color) ? NamedTextColor.namedColor(value) : null;
+            builder.color(named != null ? named : TextColor.color(value));
+        }
+
+        if (SHADOW_COLOR_OF != null) {
+            final Object shadowColor = (Object) SHADOW_COLOR_OF.invokeExact(style);
+            if (shadowColor != null) {
+                builder.shadowColor(ShadowColor.shadowColor((int) SHADOW_COLOR_VALUE.invokeExact(shadowColor)));
+            }
+        }
+
+        final TextDecoration.State[] states = TextDecoration.State.values();
+        for (final TextDecoration decoration : TextDecoration.values()) {
+            final Object state = (Object) DECORATION_OF.invokeExact(style, DECORATIONS[decoration.ordinal()]);
+            for (int i = 0; i < STATES.length; i++) {
+                if (STATES[i] == state && states[i] != TextDecoration.State.NOT_SET) {
+                    builder.decoration(decoration, states[i]);
+                }
+            }
+        }
+
+        final Object font = (Object) FONT_OF.invokeExact(style);
+        if (font != null) {
+            builder.font(Key.key(
+                    (String) (Object) KEY_NAMESPACE.invokeExact(font),
+                    (String) (Object) KEY_VALUE.invokeExact(font)
+            ));
+        }
+
+        builder.insertion((String) (Object) INSERTION_OF.invokeExact(style));
+
+        final Object clickEvent = (Object) CLICK_EVENT_OF.invokeExact(style);
+        if (clickEvent != null) {
+            final ClickEvent<?> converted = clickEvent(
+                    ((Object) CLICK_ACTION.invokeExact(clickEvent)).toString(),
+                    (String) (Object) CLICK_VALUE.invokeExact(clickEvent)
+            );
+            if (converted == null) {
+                return null;
+            }
+            builder.clickEvent(converted);
+        }
+
+        final Object hoverEvent = (Object) HOVER_EVENT_OF.invokeExact(style);
+        if (hoverEvent != null) {
+            if (!"show_text".equals(((Object) HOVER_ACTION.invokeExact(hoverEvent)).toString())) {
+                return null;
+            }
+
+            final Component hoverText = convertNative((Object) HOVER_VALUE.invokeExact(hoverEvent));
+            if (hoverText == null) {
+                return null;
+            }
+            builder.hoverEvent(HoverEvent.showText(hoverText));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Rebuilds the click events holding a plain text value.
+     */
+    private static ClickEvent<?> clickEvent(final String action, final String value) {
+        return switch (action) {
+            case "open_url" -> ClickEvent.openUrl(value);
+            case "open_file" -> ClickEvent.openFile(value);
+            case "run_command" -> ClickEvent.runCommand(value);
+            case "suggest_command" -> ClickEvent.suggestCommand(value);
+            case "copy_to_clipboard" -> ClickEvent.copyToClipboard(value);
+            default -> null;
+        };
+    }
+
+    /**
+     * Looks up a public method, erasing its reference types to {@link Object} for {@code invokeExact} calls.
+     */
+    private static MethodHandle handle(
+            final Class<?> owner,
+            final String name,
+            final Class<?>... parameters
+    ) throws ReflectiveOperationException {
+        final MethodHandle handle = LOOKUP.unreflect(owner.getMethod(name, parameters));
+        return handle.asType(handle.type().erase());
+    }
+
+    /**
+     * Looks up a builder method, dropping the returned builder.
+     */
+    private static MethodHandle setter(
+            final Class<?> owner,
+            final String name,
+            final Class<?>... parameters
+    ) throws ReflectiveOperationException {
+        final MethodHandle handle = handle(owner, name, parameters);
+        return handle.asType(handle.type().changeReturnType(void.class));
+    }
+
+    /**
+     * Maps the server's enum constants to the ordinals of the relocated ones with the same name.
+     */
+    private static Object[] byName(final Class<?> nativeEnum, final Enum<?>[] relocated) {
+        final Object[] constants = new Object[relocated.length];
+        for (final Object constant : nativeEnum.getEnumConstants()) {
+            final String name = ((Enum<?>) constant).name();
+            for (final Enum<?> candidate : relocated) {
+                if (candidate.name().equals(name)) {
+                    constants[candidate.ordinal()] = constant;
+                }
+            }
+        }
+
+        for (final Object constant : constants) {
+            if (constant == null) {
+                throw new IllegalStateException("Missing constant in " + nativeEnum.getName());
+            }
+        }
+        return constants;
+    }
+
+}
@@ -65,6 +65,8 @@ public final class AdventureUtil {
 
     public static Component toComponent(Object componentObject) {
         if (componentObject == null) return null;
+        final Component converted = AdventureBridge.fromNative(componentObject);
+        if (converted != null) return converted;
         String json = serialize(componentObject);
         if (json == null) return null;
         try {
@@ -77,6 +79,8 @@ public final class AdventureUtil {
 
     public static Object fromComponent(Component component) {
         if (component == null) return null;
+        final Object converted = AdventureBridge.toNative(component);
+        if (converted != null) return converted;
         try {
             String json = Utilities.GSON_SERIALIZER.serialize(component);
             return deserialize(json);
@@ -0,0 +1,169 @@
+package to.itsme.itsmyconfig.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A text with {@code {0}}, {@code {1}}... argument slots, parsed once so filling them takes a single pass.
+ * <p>
+ * The text is kept as is, the slots being ranges of it along with their argument number.
+ * A slot without a matching parameter is left untouched, and parameters are inserted verbatim:
+ * an inserted value is never scanned for slots itself.
+ */
+public final class ArgumentTemplate {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final String text;
+
+    /* Per slot: where it starts and ends in the text, and its argument number */
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] arguments;
+
+    private ArgumentTemplate(final String text, final int[] starts, final int[] ends, final int[] arguments) {
+        this.text = text;
+        this.starts = starts;
+        this.ends = ends;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Compiles a text, every argument it contains becoming a slot.
+     *
+     * @param text the text to compile
+     * @return the compiled template
+     */
+    public static ArgumentTemplate compile(final String text) {
+        return compile(text, argument -> true);
+    }
+
+    /**
+     * Compiles a text, only the accepted arguments becoming slots.
+     * <p>
+     * Arguments are written {@code {n}}, {@code n} without leading zeros,
+     * and are found left to right without overlapping.
+     *
+     * @param text the text to compile
+     * @param accepted which argument numbers to make slots of
+     * @return the compiled template
+     */
+    public static ArgumentTemplate compile(final String text, final IntPredicate accepted) {
+        if (text == null || text.length() < 3) {
+            return new ArgumentTemplate(text, NO_SLOTS, NO_SLOTS, NO_SLOTS);
+        }
+
+        int[] starts = NO_SLOTS, ends = NO_SLOTS, arguments = NO_SLOTS;
+        int count = 0;
+        int index = text.indexOf('{');
+        while (index != -1) {
+            final int end = argumentEnd(text, index);
+            if (end == -1) {
+                index = text.indexOf('{', index + 1);
+                continue;
+            }
+
+            final int argument = parseArgument(text, index + 1, end - 1);
+            if (argument != -1 && accepted.test(argument)) {
+                if (count == starts.length) {
+                    final int size = Math.max(4, count * 2);
+                    starts = Arrays.copyOf(starts, size);
+                    ends = Arrays.copyOf(ends, size);
+                    arguments = Arrays.copyOf(arguments, size);
+                }
+                starts[count] = index;
+                ends[count] = end;
+                arguments[count] = argument;
+                count++;
+            }
+            index = text.indexOf('{', end);
+        }
+
+        return new ArgumentTemplate(
+                text,
+                Arrays.copyOf(starts, count),
+                Arrays.copyOf(ends, count),
+                Arrays.copyOf(arguments, count)
+        );
+    }
+
+    /**
+     * Fills the slots with the given parameters, argument {@code n} taking parameter {@code n + skipped}.
+     *
+     * @param params the parameters
+     * @param skipped the amount of leading parameters that aren't arguments
+     * @return the filled text, or the text itself if no slot had a parameter
+     */
+    public String apply(final String[] params, final int skipped) {
+        StringBuilder builder = null;
+        int last = 0;
+        for (int slot = 0; slot < arguments.length; slot++) {
+            if (arguments[slot] >= params.length - skipped) {
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(text.length() + 16 * arguments.length);
+            }
+            builder.append(text, last, starts[slot]).append(params[arguments[slot] + skipped]);
+            last = ends[slot];
+        }
+
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, last, text.length()).toString();
+    }
+
+    /**
+     * @return the compiled text, slots included
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return whether the text has at least one slot
+     */
+    public boolean hasArguments() {
+        return arguments.length != 0;
+    }
+
+    /**
+     * Finds the end of the argument opening at the given brace.
+     *
+     * @return the index after its closing brace, or -1 if the brace doesn't open an argument
+     */
+    private static int argumentEnd(final String text, final int brace) {
+        int index = brace + 1;
+        while (index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+
+        if (index == brace + 1 || index == text.length() || text.charAt(index) != '}') {
+            return -1;
+        }
+        return index + 1;
+    }
+
+    /**
+     * Parses the digits of an argument.
+     *
+     * @return the argument number, or -1 if it has leading zeros or doesn't fit an int
+     */
+    private static int parseArgument(final String text, final int from, final int to) {
+        if (to - from > 1 && text.charAt(from) == '0') {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) value;
+    }
+
+}
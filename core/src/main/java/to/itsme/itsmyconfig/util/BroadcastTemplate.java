@@ -0,0 +1,358 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.tag.Modifying;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import to.itsme.itsmyconfig.ItsMyConfig;
+import to.itsme.itsmyconfig.placeholder.Placeholder;
+import to.itsme.itsmyconfig.placeholder.type.ColorPlaceholder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A message whose only player-dependent parts are {@code <p:>} and {@code <papi:>} tags, parsed once for every recipient.
+ * <p>
+ * Those tags are parsed as markers standing in for their values. Rendering resolves the values for a player
+ * and puts them in place of the markers, without going through MiniMessage again. A value holding markup
+ * has to be parsed along with the message, so such a render gives up and the message gets translated in full.
+ * Messages with a tag transforming its content, like gradients and fonts, or whose markers don't come out
+ * of the parse intact, e.g. inside a translation, can't be templated at all.
+ */
+public final class BroadcastTemplate {
+
+    /* Noncharacters, they never show up in a chat message */
+    private static final char MARKER_START = '\uFDD0';
+    private static final char MARKER_END = '\uFDD1';
+
+    private static final String UNKNOWN_PLACEHOLDER = "Unknown Placeholder";
+
+    private final Component parsed;
+    private final List<Slot> slots;
+
+    private BroadcastTemplate(final Component parsed, final List<Slot> slots) {
+        this.parsed = parsed;
+        this.slots = slots;
+    }
+
+    /**
+     * Parses a message once for every recipient.
+     * The message mustn't contain argument tags, which act on the player before it's parsed.
+     *
+     * @param text the message without its symbol-prefix
+     * @param placeholderApi whether the {@code <papi:>} tag should be resolved
+     * @return the template, or {@code null} if the message can't be templated
+     */
+    public static @Nullable BroadcastTemplate compile(final String text, final boolean placeholderApi) {
+        if (text.indexOf(MARKER_START) != -1) {
+            return null;
+        }
+
+        final Slots slots = new Slots(ItsMyConfig.getInstance().getPlaceholderManager()::get);
+        final Component parsed = Utilities.EMPTY_MM.deserialize(
+                LegacyLexer.lex(Strings.quote(text)),
+                slots.resolver(placeholderApi),
+                slots.watch(Utilities.STATIC_RESOLVERS)
+        );
+        return of(parsed, slots);
+    }
+
+    /**
+     * Makes a template of a message parsed with the resolvers of {@link Slots}.
+     *
+     * @return the template, or {@code null} if the values can't be put in place of the markers
+     */
+    static @Nullable BroadcastTemplate of(final Component parsed, final Slots slots) {
+        if (slots.modified && !slots.list.isEmpty()) {
+            return null;
+        }
+
+        final int[] found = new int[slots.list.size()];
+        if (!count(parsed, found)) {
+            return null;
+        }
+
+        for (int i = 0; i < found.length; i++) {
+            // Each <p:> tag resolves on its own, random and animated placeholders give every one another value
+            if (found[i] == 0 || (found[i] > 1 && !slots.list.get(i).papi())) {
+                return null;
+            }
+        }
+        return new BroadcastTemplate(parsed, List.copyOf(slots.list));
+    }
+
+    /**
+     * Renders the message for a player.
+     *
+     * @param player the player receiving the message
+     * @return the translated message, or {@code null} if it has to be translated in full
+     */
+    public @Nullable Component render(final Player player) {
+        final String[] values = new String[slots.size()];
+        for (int i = 0; i < values.length; i++) {
+            final String value = slots.get(i).resolve(player);
+            if (value == null) {
+                return null;
+            }
+            values[i] = value;
+        }
+        return this.fill(values);
+    }
+
+    /**
+     * Puts the values in place of the markers.
+     *
+     * @param values the value of every slot, in order
+     * @return the filled message, or {@code null} if a value holds markup
+     */
+    @Nullable Component fill(final String[] values) {
+        for (final String value : values) {
+            if (!isPlain(value)) {
+                return null;
+            }
+        }
+        return fill(parsed, values);
+    }
+
+    /**
+     * @return whether parsing a value along with the message would leave it as is
+     */
+    private static boolean isPlain(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character == '<' || character == '>' || character == '\\' || character == MARKER_START || character == MARKER_END) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Component fill(final Component component, final String[] values) {
+        Component filled = component;
+        if (component instanceof TextComponent text && text.content().indexOf(MARKER_START) != -1) {
+            filled = text.content(replace(text.content(), values));
+        }
+
+        final HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            final Component shown = (Component) hover.value();
+            final Component filledShown = fill(shown, values);
+            if (filledShown != shown) {
+                filled = filled.hoverEvent(HoverEvent.showText(filledShown));
+            }
+        }
+
+        final List<Component> children = component.children();
+        List<Component> filledChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            final Component child = children.get(i);
+            final Component filledChild = fill(child, values);
+            if (filledChild != child && filledChildren == null) {
+                filledChildren = new ArrayList<>(children);
+            }
+            if (filledChildren != null) {
+                filledChildren.set(i, filledChild);
+            }
+        }
+        return filledChildren == null ? filled : filled.children(filledChildren);
+    }
+
+    private static String replace(final String content, final String[] values) {
+        final StringBuilder builder = new StringBuilder(content.length() + 16 * values.length);
+        int copied = 0;
+        for (int start = content.indexOf(MARKER_START); start != -1; start = content.indexOf(MARKER_START, copied)) {
+            final int end = content.indexOf(MARKER_END, start);
+            builder.append(content, copied, start).append(values[Integer.parseInt(content, start + 1, end, 10)]);
+            copied = end + 1;
+        }
+        return builder.append(content, copied, content.length()).toString();
+    }
+
+    /**
+     * Counts the intact markers of every slot.
+     *
+     * @return {@code false} if a marker came out of the parse broken
+     */
+    private static boolean count(final Component component, final int[] found) {
+        if (component instanceof TextComponent text && !count(text.content(), found)) {
+            return false;
+        }
+
+        final HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT && !count((Component) hover.value(), found)) {
+            return false;
+        }
+
+        for (final Component child : component.children()) {
+            if (!count(child, found)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean count(final String content, final int[] found) {
+        int index = 0;
+        while (index < content.length()) {
+            final char character = content.charAt(index);
+            if (character == MARKER_END) {
+                return false;
+            }
+
+            if (character != MARKER_START) {
+                index++;
+                continue;
+            }
+
+            final int end = content.indexOf(MARKER_END, index);
+            if (end == -1) {
+                return false;
+            }
+
+            final int slot;
+            try {
+                slot = Integer.parseInt(content, index + 1, end, 10);
+            } catch (final NumberFormatException ex) {
+                return false;
+            }
+
+            if (slot < 0 || slot >= found.length) {
+                return false;
+            }
+            found[slot]++;
+            index = end + 1;
+        }
+        return true;
+    }
+
+    private static String marker(final int slot) {
+        return MARKER_START + Integer.toString(slot) + MARKER_END;
+    }
+
+    /**
+     * A {@code <p:>} or {@code <papi:>} tag of the message, the same {@code <papi:>} tag used twice sharing its slot.
+     *
+     * @param papi whether it's a {@code <papi:>} tag
+     * @param name the placeholder, or the PlaceholderAPI identifier
+     * @param arguments the arguments of a {@code <p:>} tag
+     */
+    record Slot(boolean papi, String name, List<String> arguments) {
+
+        /**
+         * Resolves the tag like the player's resolvers do.
+         *
+         * @return the value, or {@code null} if the tag no longer inserts text
+         */
+        private @Nullable String resolve(final Player player) {
+            if (papi) {
+                return LegacyLexer.lex(Utilities.setPlaceholders(player, '%' + name + '%'));
+            }
+
+            final Placeholder data = ItsMyConfig.getInstance().getPlaceholderManager().get(name);
+            if (data == null) {
+                return UNKNOWN_PLACEHOLDER;
+            }
+
+            if (data instanceof ColorPlaceholder) {
+                return null;
+            }
+
+            final String parsed = data.asString(player, arguments.toArray(new String[0]));
+            return parsed == null ? "" : LegacyLexer.lex(parsed);
+        }
+
+    }
+
+    /**
+     * Collects the slots of a message while it's parsed, inserting their markers.
+     */
+    static final class Slots {
+
+        private final Function<String, Placeholder> placeholders;
+        private final List<Slot> list = new ArrayList<>();
+
+        /* Whether a tag transforming its content got resolved, which the values wouldn't go through */
+        private boolean modified;
+
+        Slots(final Function<String, Placeholder> placeholders) {
+            this.placeholders = placeholders;
+        }
+
+        TagResolver resolver(final boolean placeholderApi) {
+            final TagResolver itsMyConfig = TagResolver.resolver("p", (argumentQueue, context) -> {
+                if (!argumentQueue.hasNext()) {
+                    return Tag.preProcessParsed(UNKNOWN_PLACEHOLDER);
+                }
+
+                final String name = argumentQueue.popOr("").value();
+                final Placeholder data = placeholders.apply(name);
+                if (data instanceof ColorPlaceholder colorPlaceholder) {
+                    return colorPlaceholder.getStyle();
+                }
+                return this.insert(new Slot(false, name, arguments(argumentQueue)));
+            });
+
+            if (!placeholderApi) {
+                return itsMyConfig;
+            }
+
+            return TagResolver.resolver(itsMyConfig, TagResolver.resolver("papi", (argumentQueue, context) -> {
+                final String identifier = argumentQueue.popOr("papi tag requires an argument").value();
+                return this.insert(new Slot(true, identifier, List.of()));
+            }));
+        }
+
+        /**
+         * Watches the other resolvers of the parse for tags transforming their content.
+         */
+        TagResolver watch(final TagResolver resolvers) {
+            return new TagResolver() {
+                @Override
+                public @Nullable Tag resolve(final @NotNull String name, final @NotNull ArgumentQueue arguments, final @NotNull Context ctx) {
+                    final Tag tag = resolvers.resolve(name, arguments, ctx);
+                    if (tag instanceof Modifying) {
+                        modified = true;
+                    }
+                    return tag;
+                }
+
+                @Override
+                public boolean has(final @NotNull String name) {
+                    return resolvers.has(name);
+                }
+            };
+        }
+
+        /**
+         * Inserts the marker of a slot. MiniMessage resolves tags more than once, looking for pre-processing ones first,
+         * so a slot seen before keeps its marker.
+         */
+        private Tag insert(final Slot slot) {
+            int index = list.indexOf(slot);
+            if (index == -1) {
+                list.add(slot);
+                index = list.size() - 1;
+            }
+            return Tag.selfClosingInserting(Component.text(marker(index)));
+        }
+
+        private static List<String> arguments(final ArgumentQueue argumentQueue) {
+            final List<String> arguments = new ArrayList<>();
+            while (argumentQueue.hasNext()) {
+                arguments.add(argumentQueue.pop().value());
+            }
+            return List.copyOf(arguments);
+        }
+
+    }
+
+}
@@ -4,6 +4,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.internal.serializer.Emitable;
 import to.itsme.itsmyconfig.ItsMyConfig;
 import to.itsme.itsmyconfig.component.AbstractComponent;
+import to.itsme.itsmyconfig.util.jfr.SerializeEvent;
 
 import java.util.function.Function;
 
@@ -44,11 +45,25 @@ public class IMCSerializer {
     }
 
     public static String toMiniMessage(final String json) {
-        return JSON_SERIALIZER.apply(json);
+        final SerializeEvent event = new SerializeEvent();
+        event.begin();
+        return commit(event, "json", JSON_SERIALIZER.apply(json));
     }
 
     public static String toMiniMessage(final Component component) {
-        return COMPONENT_SERIALIZER.apply(component);
+        final SerializeEvent event = new SerializeEvent();
+        event.begin();
+        return commit(event, "component", COMPONENT_SERIALIZER.apply(component));
+    }
+
+    private static String commit(final SerializeEvent event, final String input, final String result) {
+        if (event.shouldCommit()) {
+            event.input = input;
+            event.serializer = currentSerializerType.name();
+            event.resultLength = result == null ? 0 : result.length();
+            event.commit();
+        }
+        return result;
     }
 
     private static Function<String, String> createJsonSerializer(final SerializerType serializerType) {
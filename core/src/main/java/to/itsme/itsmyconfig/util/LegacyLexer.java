@@ -0,0 +1,229 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+/**
+ * Turns the legacy {@code &} and {@code §} codes of a MiniMessage text into tags, before it gets parsed.
+ * <p>
+ * Codes become {@code <legacy:code>} tags, resolved by {@link #RESOLVER} into the style the code stands for:
+ * <ul>
+ *   <li>{@code &a} and the other colors, {@code &#RRGGBB} and {@code &x&R&R&G&G&B&B} set the color and,
+ *   like in vanilla, turn the decorations off</li>
+ *   <li>{@code &l} and the other decorations turn their decoration on</li>
+ *   <li>{@code &r} becomes a {@code <reset>}</li>
+ * </ul>
+ * Codes inside tags, such as a {@code &} in a click URL, and escaped characters are left as they are.
+ */
+public final class LegacyLexer {
+
+    public static final String TAG = "legacy";
+
+    private static final String CODES = "0123456789abcdefklmno";
+    private static final NamedTextColor[] COLORS = {
+            NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+            NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+            NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+            NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+    private static final TextDecoration[] DECORATIONS = {
+            TextDecoration.OBFUSCATED, TextDecoration.BOLD, TextDecoration.STRIKETHROUGH,
+            TextDecoration.UNDERLINED, TextDecoration.ITALIC
+    };
+
+    /* The tag of each code, in the order of CODES */
+    private static final Tag[] TAGS = new Tag[CODES.length()];
+
+    static {
+        for (int i = 0; i < COLORS.length; i++) {
+            TAGS[i] = colorTag(COLORS[i]);
+        }
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            final TextDecoration decoration = DECORATIONS[i];
+            TAGS[COLORS.length + i] = Tag.styling(builder -> builder.decoration(decoration, true));
+        }
+    }
+
+    /**
+     * Resolves the {@code <legacy:code>} tags the lexer produces.
+     */
+    public static final TagResolver RESOLVER = TagResolver.resolver(TAG, (arguments, context) -> {
+        final String code = arguments.popOr("legacy tag requires a code").value();
+        if (code.length() == 7 && code.charAt(0) == '#') {
+            final TextColor color = TextColor.fromHexString(code);
+            if (color != null) {
+                return colorTag(color);
+            }
+        }
+
+        final int index = code.length() == 1 ? CODES.indexOf(code.charAt(0)) : -1;
+        if (index == -1) {
+            throw context.newException("Unknown legacy code " + code, arguments);
+        }
+        return TAGS[index];
+    });
+
+    private LegacyLexer() {
+    }
+
+    /**
+     * Replaces the legacy codes of a MiniMessage text with tags.
+     *
+     * @param text the MiniMessage text
+     * @return the text with its codes as tags, the text itself if it has none
+     */
+    public static String lex(final String text) {
+        if (text == null || (text.indexOf('&') == -1 && text.indexOf('§') == -1)) {
+            return text;
+        }
+
+        final StringBuilder builder = new StringBuilder(text.length() + 16);
+        int i = 0;
+        while (i < text.length()) {
+            final char character = text.charAt(i);
+            if (character == '\\' && i + 1 < text.length()) {
+                builder.append(character).append(text.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+
+            if (character == '<') {
+                final int end = tagEnd(text, i);
+                if (end != -1) {
+                    builder.append(text, i, end);
+                    i = end;
+                    continue;
+                }
+            }
+
+            if ((character == '&' || character == '§') && i + 1 < text.length()) {
+                final int consumed = appendCode(text, i, builder);
+                if (consumed != 0) {
+                    i += consumed;
+                    continue;
+                }
+            }
+
+            builder.append(character);
+            i++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends the tag of the code starting at the given index.
+     *
+     * @return the length of the code, 0 if there's none
+     */
+    private static int appendCode(final String text, final int index, final StringBuilder builder) {
+        final char code = Character.toLowerCase(text.charAt(index + 1));
+        if (code == '#' && isHex(text, index + 2, 6, 1)) {
+            appendHex(builder, text, index + 2, 1);
+            return 8;
+        }
+
+        if (code == 'x' && isHex(text, index + 3, 6, 2) && isLegacySequence(text, index + 2)) {
+            appendHex(builder, text, index + 3, 2);
+            return 14;
+        }
+
+        if (code == 'r') {
+            builder.append("<reset>");
+            return 2;
+        }
+
+        if (CODES.indexOf(code) == -1) {
+            return 0;
+        }
+        builder.append('<').append(TAG).append(':').append(code).append('>');
+        return 2;
+    }
+
+    private static void appendHex(final StringBuilder builder, final String text, final int from, final int step) {
+        builder.append('<').append(TAG).append(":#");
+        for (int digit = 0; digit < 6; digit++) {
+            builder.append(Character.toLowerCase(text.charAt(from + digit * step)));
+        }
+        builder.append('>');
+    }
+
+    /**
+     * Checks the {@code &R&R&G&G&B&B} part of an {@code &x} color, starting at its first code character.
+     */
+    private static boolean isLegacySequence(final String text, final int from) {
+        for (int digit = 0; digit < 6; digit++) {
+            final char marker = text.charAt(from + digit * 2);
+            if (marker != '&' && marker != '§') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(final String text, final int from, final int count, final int step) {
+        if (from + (count - 1) * step >= text.length()) {
+            return false;
+        }
+
+        for (int digit = 0; digit < count; digit++) {
+            if (Character.digit(text.charAt(from + digit * step), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the end of the tag opening at the given index, skipping over its quoted arguments.
+     *
+     * @return the index after the closing {@code >}, or -1 if no tag starts there
+     */
+    private static int tagEnd(final String text, final int open) {
+        int i = open + 1;
+        if (i < text.length() && text.charAt(i) == '/') {
+            i++;
+        }
+
+        if (i >= text.length() || !isNameStart(text.charAt(i))) {
+            return -1;
+        }
+
+        char quote = 0;
+        for (; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            if (quote != 0) {
+                if (character == '\\') {
+                    i++;
+                } else if (character == quote) {
+                    quote = 0;
+                }
+            } else if (character == '\'' || character == '"' || character == '`') {
+                quote = character;
+            } else if (character == '>') {
+                return i + 1;
+            } else if (character == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNameStart(final char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9')
+                || character == '#' || character == '!' || character == '?' || character == '_' || character == '-';
+    }
+
+    private static Tag colorTag(final TextColor color) {
+        return Tag.styling(builder -> {
+            builder.color(color);
+            for (final TextDecoration decoration : DECORATIONS) {
+                builder.decoration(decoration, false);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,124 @@
+package to.itsme.itsmyconfig.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded, thread-safe cache dropping its least recently used entries first.
+ * <p>
+ * Lookups are counted as hits or misses and dropped entries as evictions,
+ * so the cache can be monitored while the server is running.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile int maximumSize;
+
+    public LruCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                if (this.size() > LruCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a cached value, marking it as recently used.
+     *
+     * @param key the key of the value
+     * @return the cached value, or {@code null} on a miss
+     */
+    public V get(final K key) {
+        final V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used one if the cache is full.
+     */
+    public void put(final K key, final V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Changes the maximum size, evicting entries right away if needed.
+     */
+    public void resize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        synchronized (entries) {
+            final var iterator = entries.entrySet().iterator();
+            while (entries.size() > maximumSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops every entry, keeping the counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * The share of lookups that were hits, between 0 and 1.
+     */
+    public double hitRatio() {
+        final long hits = this.hits();
+        final long total = hits + this.misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+}
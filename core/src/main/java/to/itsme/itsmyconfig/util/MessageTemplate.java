@@ -0,0 +1,116 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import to.itsme.itsmyconfig.font.FontRegistry;
+
+import java.util.Locale;
+
+/**
+ * A MiniMessage text from the config, translated once at load when nothing in it depends on the moment it's rendered.
+ * <p>
+ * A text is static when every tag it uses is a standard, font or {@code <quote>} tag.
+ * Texts using {@code <p:>}, {@code <papi:>}, argument tags or any other tag,
+ * which render-time resolvers might claim, are translated on every render instead.
+ * {@code {n}} arguments are plain text to MiniMessage, so they don't make a text dynamic, and neither do legacy codes.
+ */
+public final class MessageTemplate {
+
+    private static final String QUOTE_TAG = "quote";
+
+    private final String text;
+    private final @Nullable Component translated;
+
+    private MessageTemplate(final String text, final @Nullable Component translated) {
+        this.text = text;
+        this.translated = translated;
+    }
+
+    /**
+     * Compiles a text, translating it right away if it's static.
+     * Templates must be compiled again once the fonts got reloaded.
+     *
+     * @param text the MiniMessage text
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(final String text) {
+        return new MessageTemplate(text, isStatic(text) ? Utilities.translate(text) : null);
+    }
+
+    /**
+     * Renders the template for a player.
+     *
+     * @param player the player rendered-for
+     * @param resolvers the extra resolvers, which can't claim the tags of a static text
+     * @return the translated text
+     */
+    public @NotNull Component render(final Player player, final TagResolver... resolvers) {
+        return translated != null ? translated : Utilities.translate(text, player, resolvers);
+    }
+
+    /**
+     * Renders the template without a player, as for the console.
+     *
+     * @param resolvers the extra resolvers, which can't claim the tags of a static text
+     * @return the translated text
+     */
+    public @NotNull Component render(final TagResolver... resolvers) {
+        return translated != null ? translated : Utilities.translate(text, resolvers);
+    }
+
+    /**
+     * @return the MiniMessage text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return whether the text got translated at load
+     */
+    public boolean isStatic() {
+        return translated != null;
+    }
+
+    /**
+     * Checks whether every tag of a text renders the same whoever and whenever it's rendered for.
+     *
+     * @param text the MiniMessage text
+     * @return {@code true} if the text only uses standard, font and quote tags
+     */
+    static boolean isStatic(final String text) {
+        final TagResolver standard = StandardTags.defaults();
+        int index = text.indexOf('<');
+        while (index != -1) {
+            int start = index + 1;
+            if (start < text.length() && text.charAt(start) == '/') {
+                start++;
+            }
+
+            int end = start;
+            while (end < text.length() && !isNameEnd(text.charAt(end))) {
+                end++;
+            }
+
+            // A lone '<' is plain text
+            if (end != start) {
+                final String name = text.substring(start, end).toLowerCase(Locale.ROOT);
+                if (!name.equals(QUOTE_TAG) && !standard.has(name) && !FontRegistry.RESOLVER.has(name)
+                        && !LegacyLexer.RESOLVER.has(name)) {
+                    return false;
+                }
+            }
+            index = text.indexOf('<', index + 1);
+        }
+        return true;
+    }
+
+    private static boolean isNameEnd(final char character) {
+        return character == ':' || character == '>' || character == '<' || Character.isWhitespace(character);
+    }
+
+}
@@ -0,0 +1,193 @@
+package to.itsme.itsmyconfig.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Remembers what the PlaceholderAPI placeholders of a player resolved to for a short window (a tick by default),
+ * so a placeholder used by several tags, messages or requirements meanwhile is only resolved once.
+ * <p>
+ * Texts are split into {@code %identifier%} placeholders the way PlaceholderAPI reads them,
+ * and each placeholder is resolved on its own. Excluded placeholders are always resolved live.
+ */
+public final class PlaceholderMemo {
+
+    private static volatile long windowNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private static volatile List<String> exactExclusions = List.of();
+    private static volatile List<String> prefixExclusions = List.of();
+
+    /* Bumped on every (re-)configuration, dropping the frames remembered before */
+    private static volatile long epoch;
+
+    private final UnaryOperator<String> resolver;
+    private volatile Frame frame = new Frame(-1, 0);
+
+    /**
+     * @param resolver resolves the placeholders of a text for the player
+     */
+    public PlaceholderMemo(final UnaryOperator<String> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * (Re-)Configures the memo of every player, dropping all remembered values.
+     *
+     * @param windowMillis how long a value is remembered, {@code 0} disables it
+     * @param exclusions the identifiers always resolved live, a trailing {@code *} matching every identifier starting with it
+     */
+    public static void configure(final long windowMillis, final Collection<String> exclusions) {
+        final List<String> exact = new ArrayList<>();
+        final List<String> prefixes = new ArrayList<>();
+        for (final String exclusion : exclusions) {
+            final String identifier = exclusion.toLowerCase(Locale.ROOT).replace("%", "");
+            if (identifier.endsWith("*")) {
+                prefixes.add(identifier.substring(0, identifier.length() - 1));
+            } else {
+                exact.add(identifier);
+            }
+        }
+
+        exactExclusions = List.copyOf(exact);
+        prefixExclusions = List.copyOf(prefixes);
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0));
+        epoch++;
+    }
+
+    /**
+     * Resolves the placeholders of a text, reusing the values resolved within the window.
+     *
+     * @param text the text
+     * @return the text with its placeholders resolved
+     */
+    public String apply(final String text) {
+        int start = text.indexOf('%');
+        if (start == -1) {
+            return text;
+        }
+
+        if (windowNanos == 0) {
+            return resolver.apply(text);
+        }
+
+        final Map<String, String> values = this.frame().values;
+        StringBuilder builder = null;
+        int copied = 0;
+        while (start != -1) {
+            final int end = placeholderEnd(text, start);
+            if (end == -1) {
+                start = text.indexOf('%', start + 1);
+                continue;
+            }
+
+            final String placeholder = text.substring(start, end + 1);
+            if (builder == null) {
+                builder = new StringBuilder(text.length() + 16);
+            }
+            builder.append(text, copied, start).append(this.resolve(placeholder, values));
+            copied = end + 1;
+            start = text.indexOf('%', copied);
+        }
+
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, copied, text.length()).toString();
+    }
+
+    private String resolve(final String placeholder, final Map<String, String> values) {
+        if (isExcluded(placeholder.substring(1, placeholder.length() - 1))) {
+            return resolver.apply(placeholder);
+        }
+
+        // Not computeIfAbsent: expansions may resolve other placeholders of the player meanwhile
+        final String remembered = values.get(placeholder);
+        if (remembered != null) {
+            return remembered;
+        }
+
+        final String value = resolver.apply(placeholder);
+        if (value != null) {
+            values.put(placeholder, value);
+        }
+        return value;
+    }
+
+    private Frame frame() {
+        final long now = System.nanoTime();
+        final long currentEpoch = epoch;
+        final Frame current = this.frame;
+        if (current.epoch == currentEpoch && now - current.start < windowNanos) {
+            return current;
+        }
+
+        final Frame next = new Frame(currentEpoch, now);
+        this.frame = next;
+        return next;
+    }
+
+    /**
+     * Checks whether an identifier must always be resolved live.
+     *
+     * @param identifier the identifier, without its {@code %}
+     * @return {@code true} if an exclusion matches it
+     */
+    static boolean isExcluded(final String identifier) {
+        final List<String> exact = exactExclusions;
+        final List<String> prefixes = prefixExclusions;
+        if (exact.isEmpty() && prefixes.isEmpty()) {
+            return false;
+        }
+
+        final String lowercase = identifier.toLowerCase(Locale.ROOT);
+        if (exact.contains(lowercase)) {
+            return true;
+        }
+
+        for (final String prefix : prefixes) {
+            if (lowercase.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the closing {@code %} of the placeholder opening at the given index.
+     * Like PlaceholderAPI, a space before the first {@code _} means it isn't a placeholder.
+     *
+     * @return the index of the closing {@code %}, or -1 if no placeholder starts there
+     */
+    static int placeholderEnd(final String text, final int open) {
+        boolean identified = false;
+        for (int i = open + 1; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            if (character == '%') {
+                return i;
+            }
+
+            if (character == ' ' && !identified) {
+                return -1;
+            }
+
+            if (character == '_') {
+                identified = true;
+            }
+        }
+        return -1;
+    }
+
+    private record Frame(long epoch, long start, Map<String, String> values) {
+
+        private Frame(final long epoch, final long start) {
+            this(epoch, start, new ConcurrentHashMap<>());
+        }
+
+    }
+
+}
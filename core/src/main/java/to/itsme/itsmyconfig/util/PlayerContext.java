@@ -0,0 +1,95 @@
+package to.itsme.itsmyconfig.util;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The resolvers of an online player, built once and reused by every translation for them,
+ * along with the memo of their PlaceholderAPI placeholders.
+ * <p>
+ * Contexts are released when the player quits. A context left behind by a missed quit
+ * is replaced as soon as the player's new session asks for one.
+ */
+public final class PlayerContext {
+
+    private static final Map<UUID, PlayerContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    private final Player player;
+    private final TagResolver resolvers;
+    private final TagResolver resolversWithoutPapi;
+    private final PlaceholderMemo placeholders;
+
+    private PlayerContext(final Player player) {
+        this.player = player;
+        this.resolversWithoutPapi = Utilities.itsMyConfigTag(player);
+        this.resolvers = TagResolver.resolver(this.resolversWithoutPapi, Utilities.papiTag(player));
+        this.placeholders = new PlaceholderMemo(text -> PlaceholderAPI.setPlaceholders(player, text));
+    }
+
+    /**
+     * Gets the context of an online player, creating it if needed.
+     * A player who already quit gets a context that isn't kept.
+     *
+     * @param player the player
+     * @return the context of the player
+     */
+    public static PlayerContext of(final Player player) {
+        final PlayerContext context = CONTEXTS.get(player.getUniqueId());
+        if (context != null && context.player == player) {
+            return context;
+        }
+
+        final PlayerContext created = new PlayerContext(player);
+        final PlayerContext kept = CONTEXTS.compute(player.getUniqueId(), (uuid, current) -> {
+            if (current != null && current.player == player) {
+                return current;
+            }
+            // Late translations for a player who already quit mustn't bring their context back
+            return player.isOnline() ? created : current;
+        });
+        return kept != null && kept.player == player ? kept : created;
+    }
+
+    /**
+     * Releases the context of a player, once right away and once more after the quit went through,
+     * as translations running during the quit still see the player online and may cache it again.
+     *
+     * @param player the player who quit
+     */
+    public static void release(final Player player) {
+        forget(player);
+        Scheduler.runNextTick(task -> forget(player));
+    }
+
+    private static void forget(final Player player) {
+        CONTEXTS.computeIfPresent(player.getUniqueId(), (uuid, current) -> current.player == player ? null : current);
+    }
+
+    /**
+     * Releases every context.
+     */
+    public static void clear() {
+        CONTEXTS.clear();
+    }
+
+    /**
+     * @param placeholderApi whether the {@code <papi:>} tag should be resolved
+     * @return the {@code <p:>} resolver, along with the {@code <papi:>} one if asked
+     */
+    public TagResolver resolvers(final boolean placeholderApi) {
+        return placeholderApi ? resolvers : resolversWithoutPapi;
+    }
+
+    /**
+     * @return the memo of the player's PlaceholderAPI placeholders
+     */
+    public PlaceholderMemo placeholders() {
+        return placeholders;
+    }
+
+}
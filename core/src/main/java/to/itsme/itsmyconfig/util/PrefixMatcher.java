@@ -0,0 +1,230 @@
+package to.itsme.itsmyconfig.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Recognises the prefixes of every {@link PrefixProfile}, and their incognito forms, in a single pass.
+ * <p>
+ * The prefixes are compiled into an Aho-Corasick automaton whose transitions are fully resolved,
+ * so each character costs a table lookup whatever the amount of profiles:
+ * <ul>
+ *   <li>walked from the start of a message, only following trie edges, it finds the prefix of the message</li>
+ *   <li>fed every character of a message, it reports the incognito prefixes as they end</li>
+ * </ul>
+ * Characters none of the prefixes use all share a single column of the table.
+ */
+final class PrefixMatcher {
+
+    static final int ROOT = 0;
+    static final int NONE = -1;
+
+    /* Patterns, in registration order: the profile they belong to and whether they're the incognito form */
+    private final PrefixProfile[] profiles;
+    private final int[] lengths;
+    private final boolean[] incognito;
+
+    /* Maps characters to their column, 0 being every character no pattern uses */
+    private final int[] asciiColumns = new int[128];
+    private final char[] alphabet;
+    private final int columns;
+
+    /* Per state: the transitions, the length of the spelled string, the pattern it spells and the longest incognito one it ends with */
+    private final int[] transitions;
+    private final int[] depths;
+    private final int[] spelled;
+    private final int[] incognitoEnds;
+
+    /**
+     * Compiles the prefixes of the given profiles.
+     * A prefix already registered by a previous profile keeps matching the previous one.
+     *
+     * @param profiles the profiles, in priority order
+     */
+    PrefixMatcher(final List<PrefixProfile> profiles) {
+        final List<String> patterns = new ArrayList<>();
+        final List<PrefixProfile> owners = new ArrayList<>();
+        final List<Boolean> incognitoForms = new ArrayList<>();
+        for (final PrefixProfile profile : profiles) {
+            if (profile.prefix() == null || profile.prefix().isEmpty()) {
+                continue;
+            }
+
+            final String[] forms = {profile.prefix(), profile.incognitoPrefix()};
+            for (int form = 0; form < forms.length; form++) {
+                if (!patterns.contains(forms[form])) {
+                    patterns.add(forms[form]);
+                    owners.add(profile);
+                    incognitoForms.add(form == 1);
+                }
+            }
+        }
+
+        this.profiles = owners.toArray(new PrefixProfile[0]);
+        this.lengths = patterns.stream().mapToInt(String::length).toArray();
+        this.incognito = new boolean[patterns.size()];
+        for (int i = 0; i < incognito.length; i++) {
+            incognito[i] = incognitoForms.get(i);
+        }
+
+        // Columns
+        final TreeSet<Character> characters = new TreeSet<>();
+        patterns.forEach(pattern -> pattern.chars().forEach(character -> characters.add((char) character)));
+        this.alphabet = new char[characters.size()];
+        int column = 0;
+        for (final char character : characters) {
+            alphabet[column++] = character;
+            if (character < asciiColumns.length) {
+                asciiColumns[character] = column;
+            }
+        }
+        this.columns = alphabet.length + 1;
+
+        // Trie
+        final List<Map<Character, Integer>> edges = new ArrayList<>();
+        final List<Integer> depthList = new ArrayList<>();
+        final List<Integer> spelledList = new ArrayList<>();
+        edges.add(new HashMap<>());
+        depthList.add(0);
+        spelledList.add(NONE);
+        for (int pattern = 0; pattern < patterns.size(); pattern++) {
+            int state = ROOT;
+            for (final char character : patterns.get(pattern).toCharArray()) {
+                Integer next = edges.get(state).get(character);
+                if (next == null) {
+                    next = edges.size();
+                    edges.get(state).put(character, next);
+                    edges.add(new HashMap<>());
+                    depthList.add(depthList.get(state) + 1);
+                    spelledList.add(NONE);
+                }
+                state = next;
+            }
+            spelledList.set(state, pattern);
+        }
+
+        final int states = edges.size();
+        this.transitions = new int[states * columns];
+        this.depths = depthList.stream().mapToInt(Integer::intValue).toArray();
+        this.spelled = spelledList.stream().mapToInt(Integer::intValue).toArray();
+        this.incognitoEnds = new int[states];
+
+        // Failure links, breadth first so a state's link is resolved before its children
+        final int[] failures = new int[states];
+        final ArrayDeque<Integer> queue = new ArrayDeque<>();
+        incognitoEnds[ROOT] = NONE;
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final int failure = failures[state];
+            final int own = spelled[state];
+            incognitoEnds[state] = own != NONE && incognito[own] ? own : state == ROOT ? NONE : incognitoEnds[failure];
+
+            for (int col = 0; col < columns; col++) {
+                final Integer child = col == 0 ? null : edges.get(state).get(alphabet[col - 1]);
+                if (child == null) {
+                    transitions[state * columns + col] = state == ROOT ? ROOT : transitions[failure * columns + col];
+                    continue;
+                }
+
+                transitions[state * columns + col] = child;
+                failures[child] = state == ROOT ? ROOT : transitions[failure * columns + col];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Moves the automaton by one character.
+     *
+     * @param state the current state, {@link #ROOT} at the start
+     * @param character the next character
+     * @return the next state
+     */
+    int step(final int state, final char character) {
+        return transitions[state * columns + this.column(character)];
+    }
+
+    /**
+     * Checks whether a state is still spelling the prefix of the text it was walked from.
+     *
+     * @param state the state reached
+     * @param walked the amount of characters walked since {@link #ROOT}
+     * @return {@code false} once the walk fell back, meaning no prefix can match anymore
+     */
+    boolean isAnchored(final int state, final int walked) {
+        return depths[state] == walked;
+    }
+
+    /**
+     * @return the pattern the state spells exactly, or {@link #NONE}
+     */
+    int spelled(final int state) {
+        return spelled[state];
+    }
+
+    /**
+     * @return the longest incognito prefix ending at the state, or {@link #NONE}
+     */
+    int incognitoEnd(final int state) {
+        return incognitoEnds[state];
+    }
+
+    /**
+     * Finds the prefix starting at the given index, walking the trie edges only.
+     * Plain prefixes are preferred over incognito ones, then longer ones over shorter ones.
+     *
+     * @param text the text to match
+     * @param index where the prefix should start
+     * @return the matched pattern, or {@link #NONE}
+     */
+    int match(final CharSequence text, final int index) {
+        int matchedPlain = NONE, matchedIncognito = NONE;
+        int state = ROOT;
+        for (int i = index; i < text.length(); i++) {
+            state = this.step(state, text.charAt(i));
+            if (!this.isAnchored(state, i - index + 1)) {
+                break;
+            }
+
+            final int pattern = spelled[state];
+            if (pattern == NONE) {
+                continue;
+            }
+
+            if (incognito[pattern]) {
+                matchedIncognito = pattern;
+            } else {
+                matchedPlain = pattern;
+            }
+        }
+        return matchedPlain != NONE ? matchedPlain : matchedIncognito;
+    }
+
+    boolean isEmpty() {
+        return profiles.length == 0;
+    }
+
+    PrefixProfile profile(final int pattern) {
+        return profiles[pattern];
+    }
+
+    int length(final int pattern) {
+        return lengths[pattern];
+    }
+
+    private int column(final char character) {
+        if (character < asciiColumns.length) {
+            return asciiColumns[character];
+        }
+
+        final int found = Arrays.binarySearch(alphabet, character);
+        return found < 0 ? 0 : found + 1;
+    }
+
+}
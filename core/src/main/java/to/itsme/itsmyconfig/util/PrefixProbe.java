@@ -0,0 +1,564 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+/**
+ * Cheap checks telling whether a message may carry the prefix of a {@link PrefixProfile},
+ * done before it gets serialized into a MiniMessage string.
+ * <p>
+ * The probes see the message the same way {@link Strings#parsePrefixedMessage(String)}
+ * sees the serialized text: legacy codes, tags and leading whitespace are skipped and
+ * the first visible characters are compared against the prefixes.
+ * A hit only means the full parse is worth running, a miss means it would fail anyway.
+ */
+public final class PrefixProbe {
+
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+
+    /* Outcomes of walking a json value */
+    private static final int CONTINUE = 0, DECIDED = 1, UNSUPPORTED = -1;
+
+    private PrefixProbe() {}
+
+    /**
+     * Walks the component tree in serialization order, stopping at the first visible text.
+     *
+     * @param component the component to probe
+     * @return {@code true} if the component may start with a prefix
+     */
+    public static boolean isPrefixed(final Component component) {
+        if (component == null) {
+            return false;
+        }
+
+        final Scanner scanner = new Scanner();
+        scanner.visit(component);
+        return scanner.finish();
+    }
+
+    /**
+     * Streams over a raw json component, stopping at the first visible text.
+     * <p>
+     * Nothing gets allocated, keys are compared in place and string values are fed as they get unescaped.
+     * Json the serializer wouldn't read as a plain component tree counts as a hit,
+     * leaving the decision to the full parse.
+     *
+     * @param json the json component to probe
+     * @return {@code true} if the component may start with a prefix
+     */
+    public static boolean isPrefixedJson(final String json) {
+        if (json == null || json.isEmpty()) {
+            return false;
+        }
+
+        final Scanner scanner = new Scanner();
+        final int outcome = new JsonWalker(json, scanner).root();
+        return outcome == UNSUPPORTED || scanner.finish();
+    }
+
+    /**
+     * Feeds characters one by one, following {@link Strings#parsePrefixedMessage(String)}.
+     */
+    static final class Scanner {
+
+        private final PrefixMatcher matcher = Strings.prefixMatcher();
+
+        private int tagDepth;
+        private boolean skipNext;
+
+        /* -1 while looking for the first visible character, then the amount of compared characters */
+        private int compared = -1;
+        private int state = PrefixMatcher.ROOT;
+        private boolean decided, matched;
+
+        /**
+         * Feeds a single character.
+         *
+         * @return whether the outcome got decided
+         */
+        boolean feed(final char character) {
+            if (compared < 0) {
+                if (skipNext) {
+                    skipNext = false;
+                    return false;
+                }
+
+                if (character == '&' || character == '§') {
+                    skipNext = true;
+                    return false;
+                }
+
+                if (character == '<') {
+                    tagDepth++;
+                    return false;
+                } else if (character == '>' && tagDepth > 0) {
+                    tagDepth--;
+                    return false;
+                }
+
+                if (tagDepth > 0 || Character.isWhitespace(character)) {
+                    return false;
+                }
+
+                // empty prefixes never match in the full parse either
+                if (matcher.isEmpty()) {
+                    return this.decide(false);
+                }
+
+                compared = 0;
+            }
+
+            // every prefix is walked at once, any complete one is a hit
+            state = matcher.step(state, character);
+            if (!matcher.isAnchored(state, ++compared)) {
+                return this.decide(false);
+            }
+
+            if (matcher.spelled(state) != PrefixMatcher.NONE) {
+                return this.decide(true);
+            }
+            return false;
+        }
+
+        /**
+         * Feeds a run of text.
+         *
+         * @return whether the outcome got decided
+         */
+        boolean feed(final CharSequence text, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                if (this.feed(text.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Feeds a formatting tag, its content never matters for the outcome.
+         *
+         * @return whether the outcome got decided
+         */
+        boolean tag() {
+            return this.feed('<') || this.feed('>');
+        }
+
+        /**
+         * Ends the input, a prefix that didn't fully show up is a miss.
+         *
+         * @return the final outcome
+         */
+        boolean finish() {
+            return decided && matched;
+        }
+
+        private boolean decide(final boolean matched) {
+            this.decided = true;
+            this.matched = matched;
+            return true;
+        }
+
+        /**
+         * Visits a component the way {@link IMCSerializer#toMiniMessage(Component)} writes it.
+         *
+         * @return whether the outcome got decided
+         */
+        boolean visit(final Component component) {
+            final boolean styled;
+            if (component instanceof TranslatableComponent translatable) {
+                styled = translatable.color() != null;
+                if (styled && this.tag()) {
+                    return true;
+                }
+
+                if (this.tag()) {
+                    return true;
+                }
+
+                for (final TranslationArgument argument : translatable.arguments()) {
+                    if (this.visit(argument.asComponent())) {
+                        return true;
+                    }
+                }
+            } else if (component instanceof KeybindComponent) {
+                styled = false;
+                if (this.tag()) {
+                    return true;
+                }
+            } else {
+                styled = hasTags(component.style());
+                if (styled && this.tag()) {
+                    return true;
+                }
+
+                if (component instanceof TextComponent text) {
+                    final String content = text.content();
+                    if (this.feed(content, 0, content.length())) {
+                        return true;
+                    }
+                }
+            }
+
+            for (final Component child : component.children()) {
+                if (this.visit(child)) {
+                    return true;
+                }
+            }
+
+            return styled && this.tag();
+        }
+
+    }
+
+    /**
+     * Checks whether the serializer writes any opening tag for this style.
+     */
+    private static boolean hasTags(final Style style) {
+        if (style.color() != null || style.shadowColor() != null || style.insertion() != null
+                || style.clickEvent() != null || style.hoverEvent() != null) {
+            return true;
+        }
+
+        for (final TextDecoration decoration : DECORATIONS) {
+            if (style.decoration(decoration) == TextDecoration.State.TRUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks json the way {@link to.itsme.itsmyconfig.component.AbstractComponent#parse(String)} reads it.
+     * Objects get scanned for their keys first since "text" may come after "extra".
+     */
+    private static final class JsonWalker {
+
+        private final String json;
+        private final Scanner scanner;
+        private int pos;
+
+        private JsonWalker(final String json, final Scanner scanner) {
+            this.json = json;
+            this.scanner = scanner;
+        }
+
+        private int root() {
+            this.skipWhitespace();
+            if (pos >= json.length()) {
+                return UNSUPPORTED;
+            }
+            return this.element();
+        }
+
+        private int element() {
+            if (pos >= json.length()) {
+                return UNSUPPORTED;
+            }
+
+            return switch (json.charAt(pos)) {
+                case '{' -> this.object();
+                case '[' -> this.array();
+                case '"' -> this.string(true);
+                default -> UNSUPPORTED;
+            };
+        }
+
+        private int array() {
+            pos++; // '['
+            this.skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == ']') {
+                pos++;
+                return CONTINUE;
+            }
+
+            while (pos < json.length()) {
+                this.skipWhitespace();
+                final int outcome = this.element();
+                if (outcome != CONTINUE) {
+                    return outcome;
+                }
+
+                this.skipWhitespace();
+                if (pos >= json.length()) {
+                    return UNSUPPORTED;
+                }
+
+                final char character = json.charAt(pos++);
+                if (character == ']') {
+                    return CONTINUE;
+                } else if (character != ',') {
+                    return UNSUPPORTED;
+                }
+            }
+            return UNSUPPORTED;
+        }
+
+        private int object() {
+            pos++; // '{'
+            int text = -1, extra = -1;
+            boolean keybind = false, translate = false, colored = false, styled = false;
+
+            this.skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    this.skipWhitespace();
+                    if (pos >= json.length() || json.charAt(pos) != '"') {
+                        return UNSUPPORTED;
+                    }
+
+                    final int keyStart = ++pos;
+                    while (pos < json.length() && json.charAt(pos) != '"') {
+                        if (json.charAt(pos) == '\\') {
+                            return UNSUPPORTED; // escaped keys aren't worth handling
+                        }
+                        pos++;
+                    }
+
+                    if (pos >= json.length()) {
+                        return UNSUPPORTED;
+                    }
+
+                    final int keyLength = pos++ - keyStart;
+                    this.skipWhitespace();
+                    if (pos >= json.length() || json.charAt(pos++) != ':') {
+                        return UNSUPPORTED;
+                    }
+
+                    this.skipWhitespace();
+                    if (pos >= json.length()) {
+                        return UNSUPPORTED;
+                    }
+
+                    final int value = pos;
+                    final char first = json.charAt(value);
+                    if (this.isKey(keyStart, keyLength, "text")) {
+                        if (first == '{' || first == '[' || first == 'n') {
+                            return UNSUPPORTED;
+                        }
+                        text = value;
+                    } else if (this.isKey(keyStart, keyLength, "extra")) {
+                        if (first != '[') {
+                            return UNSUPPORTED;
+                        }
+                        extra = value;
+                    } else if (this.isKey(keyStart, keyLength, "keybind")) {
+                        keybind = true;
+                    } else if (this.isKey(keyStart, keyLength, "translate")) {
+                        translate = true;
+                    } else if (this.isKey(keyStart, keyLength, "component")) {
+                        return UNSUPPORTED;
+                    } else if (this.isKey(keyStart, keyLength, "color")) {
+                        if (first == 'n') {
+                            return UNSUPPORTED;
+                        }
+                        colored = true;
+                    } else if (this.isKey(keyStart, keyLength, "shadowColor")
+                            || this.isKey(keyStart, keyLength, "insertion")
+                            || this.isKey(keyStart, keyLength, "clickEvent")
+                            || this.isKey(keyStart, keyLength, "click_event")
+                            || this.isKey(keyStart, keyLength, "hoverEvent")
+                            || this.isKey(keyStart, keyLength, "hover_event")) {
+                        if (first == 'n') {
+                            return UNSUPPORTED;
+                        }
+                        styled = true;
+                    } else if (this.isKey(keyStart, keyLength, "bold")
+                            || this.isKey(keyStart, keyLength, "italic")
+                            || this.isKey(keyStart, keyLength, "underlined")
+                            || this.isKey(keyStart, keyLength, "strikethrough")
+                            || this.isKey(keyStart, keyLength, "obfuscated")) {
+                        if (json.startsWith("true", value)) {
+                            styled = true;
+                        } else if (!json.startsWith("false", value)) {
+                            return UNSUPPORTED;
+                        }
+                    }
+
+                    if (!this.skipValue()) {
+                        return UNSUPPORTED;
+                    }
+
+                    this.skipWhitespace();
+                    if (pos >= json.length()) {
+                        return UNSUPPORTED;
+                    }
+
+                    final char character = json.charAt(pos++);
+                    if (character == '}') {
+                        break;
+                    } else if (character != ',') {
+                        return UNSUPPORTED;
+                    }
+                }
+            }
+
+            final int end = pos;
+            int outcome;
+            if (keybind) {
+                if (scanner.tag()) {
+                    return DECIDED;
+                }
+                outcome = this.children(extra);
+            } else if (translate) {
+                if ((colored && scanner.tag()) || scanner.tag()) {
+                    return DECIDED;
+                }
+                outcome = this.children(extra);
+            } else {
+                styled |= colored;
+                if (styled && scanner.tag()) {
+                    return DECIDED;
+                }
+
+                outcome = CONTINUE;
+                if (text != -1) {
+                    pos = text;
+                    outcome = json.charAt(text) == '"' ? this.string(true) : this.literal();
+                }
+
+                if (outcome == CONTINUE) {
+                    outcome = this.children(extra);
+                }
+
+                if (outcome == CONTINUE && styled && scanner.tag()) {
+                    return DECIDED;
+                }
+            }
+
+            pos = end;
+            return outcome;
+        }
+
+        private int children(final int extra) {
+            if (extra == -1) {
+                return CONTINUE;
+            }
+            pos = extra;
+            return this.array();
+        }
+
+        /**
+         * Reads a string, feeding its unescaped characters to the scanner if asked to.
+         */
+        private int string(final boolean feed) {
+            pos++; // '"'
+            while (pos < json.length()) {
+                char character = json.charAt(pos++);
+                if (character == '"') {
+                    return CONTINUE;
+                }
+
+                if (character == '\\') {
+                    if (pos >= json.length()) {
+                        return UNSUPPORTED;
+                    }
+
+                    switch (json.charAt(pos++)) {
+                        case '"' -> character = '"';
+                        case '\\' -> character = '\\';
+                        case '/' -> character = '/';
+                        case 'b' -> character = '\b';
+                        case 'f' -> character = '\f';
+                        case 'n' -> character = '\n';
+                        case 'r' -> character = '\r';
+                        case 't' -> character = '\t';
+                        case 'u' -> {
+                            if (pos + 4 > json.length()) {
+                                return UNSUPPORTED;
+                            }
+
+                            int code = 0;
+                            for (int i = 0; i < 4; i++) {
+                                final int digit = Character.digit(json.charAt(pos++), 16);
+                                if (digit == -1) {
+                                    return UNSUPPORTED;
+                                }
+                                code = (code << 4) | digit;
+                            }
+                            character = (char) code;
+                        }
+                        default -> {
+                            return UNSUPPORTED;
+                        }
+                    }
+                }
+
+                if (feed && scanner.feed(character)) {
+                    return DECIDED;
+                }
+            }
+            return UNSUPPORTED;
+        }
+
+        /**
+         * Feeds a number or boolean the way its string form reads.
+         */
+        private int literal() {
+            final int start = pos;
+            this.skipLiteral();
+            return scanner.feed(json, start, pos) ? DECIDED : CONTINUE;
+        }
+
+        private boolean skipValue() {
+            final char first = json.charAt(pos);
+            if (first == '"') {
+                return this.string(false) == CONTINUE;
+            }
+
+            if (first != '{' && first != '[') {
+                return this.skipLiteral();
+            }
+
+            int depth = 0;
+            while (pos < json.length()) {
+                final char character = json.charAt(pos);
+                if (character == '"') {
+                    if (this.string(false) != CONTINUE) {
+                        return false;
+                    }
+                    continue;
+                }
+
+                pos++;
+                if (character == '{' || character == '[') {
+                    depth++;
+                } else if ((character == '}' || character == ']') && --depth == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean skipLiteral() {
+            final int start = pos;
+            while (pos < json.length()) {
+                final char character = json.charAt(pos);
+                if (character == ',' || character == '}' || character == ']' || Character.isWhitespace(character)) {
+                    break;
+                }
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean isKey(final int start, final int length, final String key) {
+            return length == key.length() && json.startsWith(key, start);
+        }
+
+    }
+
+}
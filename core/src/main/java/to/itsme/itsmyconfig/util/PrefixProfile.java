@@ -0,0 +1,75 @@
+package to.itsme.itsmyconfig.util;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prefix that marks a message for translation, and how the message gets translated.
+ *
+ * @param name the name of the profile, as written in the config
+ * @param prefix the symbol-prefix of the profile
+ * @param placeholderApi whether {@code <papi:>} tags get resolved
+ * @param consoleOnly whether the message is only shown to the console, never to players
+ */
+public record PrefixProfile(
+        String name,
+        String prefix,
+        boolean placeholderApi,
+        boolean consoleOnly
+) {
+
+    public static final String DEFAULT_NAME = "default";
+
+    /**
+     * Creates the profile of the symbol-prefix, translating messages fully.
+     *
+     * @param prefix the symbol-prefix
+     * @return the default profile
+     */
+    public static PrefixProfile ofDefault(final String prefix) {
+        return new PrefixProfile(DEFAULT_NAME, prefix, true, false);
+    }
+
+    /**
+     * Reads the extra profiles of the {@code prefix-profiles} section.
+     *
+     * @param section the section, may be {@code null}
+     * @return the profiles with a non-empty prefix, in config order
+     */
+    public static List<PrefixProfile> load(final ConfigurationSection section) {
+        if (section == null) {
+            return List.of();
+        }
+
+        final List<PrefixProfile> profiles = new ArrayList<>();
+        for (final String name : section.getKeys(false)) {
+            final ConfigurationSection profile = section.getConfigurationSection(name);
+            if (profile == null) {
+                continue;
+            }
+
+            final String prefix = profile.getString("prefix");
+            if (prefix == null || prefix.isEmpty()) {
+                Utilities.debug(() -> "Prefix profile " + name + " has no prefix, skipping it");
+                continue;
+            }
+
+            profiles.add(new PrefixProfile(
+                    name, prefix,
+                    profile.getBoolean("placeholderapi", true),
+                    profile.getBoolean("console-only", false)
+            ));
+        }
+        return List.copyOf(profiles);
+    }
+
+    /**
+     * @return the incognito form of the prefix, removed wherever it shows up in a message
+     */
+    public String incognitoPrefix() {
+        return "{" + prefix + "}";
+    }
+
+}
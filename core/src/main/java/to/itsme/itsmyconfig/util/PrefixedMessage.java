@@ -0,0 +1,9 @@
+package to.itsme.itsmyconfig.util;
+
+/**
+ * A message stripped of its prefix, along with the profile the prefix belongs to.
+ *
+ * @param text the message without its prefix
+ * @param profile the profile of the matched prefix
+ */
+public record PrefixedMessage(String text, PrefixProfile profile) {}
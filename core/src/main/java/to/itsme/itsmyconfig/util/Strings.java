@@ -1,5 +1,8 @@
 package to.itsme.itsmyconfig.util;
 
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 import org.jetbrains.annotations.NotNull;
 
@@ -7,6 +10,8 @@ import java.text.Normalizer;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public final class Strings {
 
@@ -14,6 +19,10 @@ public final class Strings {
     public static String incognitoPrefix;
     public static Pattern symbolPrefixPattern;
 
+    private static List<PrefixProfile> extraProfiles = List.of();
+    private static volatile List<PrefixProfile> prefixProfiles = List.of();
+    private static volatile PrefixMatcher prefixMatcher = new PrefixMatcher(List.of());
+
     public static final String DEBUG_HYPHEN = "###############################################";
 
     public static final Pattern LETTERS_PATTERN = Pattern.compile("[A-Za-zÀ-ÿ]");
@@ -24,7 +33,22 @@ public final class Strings {
     private static final Pattern COLOR_FILTER = Pattern.compile("[§&][a-zA-Z0-9]");
     private static final Pattern ARGUMENT_PATTERN = Pattern.compile("\\{([0-9]+)}");
     private static final Pattern DIACRITICAL_MARKS_PATTERN = Pattern.compile("\\p{M}");
-    private static final Pattern QUOTE_PATTERN = Pattern.compile("<quote(?::([^>]*))?>(.*)</quote>");
+
+    private static final String QUOTE_OPEN = "<quote", QUOTE_CLOSE = "</quote>";
+
+    /* Properties of a <quote> tag */
+    private static final int IGNORE_COLORS = 1, IGNORE_DECORATIONS = 1 << 1, IGNORE_CLICKABLES = 1 << 2;
+
+    /* Every name the standard color and decoration resolvers claim, hex colors aside */
+    private static final Set<String> COLOR_TAGS = claimedNames(
+            StandardTags.color(),
+            Stream.concat(NamedTextColor.NAMES.keys().stream(), Stream.of("color", "colour", "c", "grey", "dark_grey"))
+    );
+    private static final Set<String> DECORATION_TAGS = claimedNames(
+            StandardTags.decorations(),
+            Stream.concat(TextDecoration.NAMES.keys().stream(), Stream.of("b", "i", "em", "u", "st", "obf"))
+                    .flatMap(name -> Stream.of(name, "!" + name))
+    );
 
     /**
      * An array of integer values used for converting numbers to Roman numerals.
@@ -44,37 +68,103 @@ public final class Strings {
         Strings.symbolPrefix = symbolPrefix;
         Strings.incognitoPrefix = "{" + symbolPrefix + "}";
         Strings.symbolPrefixPattern = Pattern.compile(Pattern.quote(symbolPrefix));
+        compilePrefixes();
+    }
+
+    /**
+     * Sets the prefix profiles recognised next to the symbol-prefix, which always comes first.
+     *
+     * @param profiles the extra profiles, in priority order
+     */
+    public static void setPrefixProfiles(final List<PrefixProfile> profiles) {
+        Strings.extraProfiles = List.copyOf(profiles);
+        compilePrefixes();
+    }
+
+    /**
+     * Gets every recognised prefix profile, the default one first.
+     *
+     * @return an immutable list of the profiles
+     */
+    public static List<PrefixProfile> prefixProfiles() {
+        return prefixProfiles;
+    }
+
+    static PrefixMatcher prefixMatcher() {
+        return prefixMatcher;
+    }
+
+    private static synchronized void compilePrefixes() {
+        final List<PrefixProfile> profiles = new ArrayList<>();
+        if (symbolPrefix != null) {
+            profiles.add(PrefixProfile.ofDefault(symbolPrefix));
+        }
+        profiles.addAll(extraProfiles);
+
+        prefixMatcher = new PrefixMatcher(profiles);
+        prefixProfiles = List.copyOf(profiles);
     }
 
     /**
      * Processes a given text and escapes tags based on specified properties.
+     * <p>
+     * A {@code <quote>} reaches the last {@code </quote>} of the line its content starts on,
+     * and the tags inside it are escaped unless its properties say otherwise.
+     * The text is read once, without any backtracking.
      *
      * @param text The text to be processed for escaping tags.
      * @return A string with escaped tags based on the given text.
      */
     public static String quote(final String text) {
-        final Matcher matcher = QUOTE_PATTERN.matcher(text);
-        if (!matcher.find()) {
+        int open = text.indexOf(QUOTE_OPEN);
+        if (open == -1) {
             return text;
         }
 
-        StringBuilder builder = new StringBuilder();
+        StringBuilder builder = null;
         int lastEnd = 0;
 
-        matcher.reset();
-        while (matcher.find()) {
-            builder.append(text, lastEnd, matcher.start());
+        // The line the current content starts on, and its last closing tag
+        int lineEnd = -1, lineClose = -1;
+        while (open != -1) {
+            final int afterOpen = open + QUOTE_OPEN.length();
+            final char next = afterOpen < text.length() ? text.charAt(afterOpen) : 0;
+
+            int propertiesEnd = -1, contentStart = -1;
+            if (next == '>') {
+                propertiesEnd = afterOpen;
+                contentStart = afterOpen + 1;
+            } else if (next == ':') {
+                propertiesEnd = text.indexOf('>', afterOpen + 1);
+                contentStart = propertiesEnd == -1 ? -1 : propertiesEnd + 1;
+            }
+
+            if (contentStart != -1 && contentStart > lineEnd) {
+                lineEnd = lineEnd(text, contentStart);
+                lineClose = lastIndexOf(text, QUOTE_CLOSE, lineEnd - QUOTE_CLOSE.length(), contentStart);
+            }
+
+            if (contentStart == -1 || lineClose < contentStart) {
+                open = text.indexOf(QUOTE_OPEN, open + 1);
+                continue;
+            }
 
-            final String propertyString = matcher.group(1) != null ? matcher.group(1) : "";
-            final Set<String> properties = propertyString.isEmpty() ? Collections.emptySet() : Set.of(propertyString.toLowerCase().split(":"));
-            final String content = matcher.group(2) != null ? matcher.group(2) : "";
+            if (builder == null) {
+                builder = new StringBuilder(text.length() + 16);
+            }
 
-            builder.append(escapeTags(content, properties));
+            builder.append(text, lastEnd, open);
+            escapeTags(text, contentStart, lineClose, properties(text, afterOpen + 1, propertiesEnd), builder);
 
-            lastEnd = matcher.end();
+            lastEnd = lineClose + QUOTE_CLOSE.length();
+            open = text.indexOf(QUOTE_OPEN, lastEnd);
         }
 
-        builder.append(text.substring(lastEnd));
+        if (builder == null) {
+            return text;
+        }
+
+        builder.append(text, lastEnd, text.length());
         return builder.toString();
     }
 
@@ -112,41 +202,133 @@ public final class Strings {
      * Escapes Tags based on the special properties provided.
      *
      * @param text The text that contains tags to be escaped.
+     * @param from The start of the quoted content.
+     * @param to The end of the quoted content.
      * @param properties The properties that the method should follow.
-     *
-     * @return The text after escaping tags.
+     * @param builder The builder the content is appended to.
      */
-    private static String escapeTags(final String text, final Set<String> properties) {
-        final Matcher matcher = TAG_PATTERN.matcher(text);
-        StringBuilder builder = new StringBuilder();
-        int lastEnd = 0;
+    private static void escapeTags(
+            final String text,
+            final int from,
+            final int to,
+            final int properties,
+            final StringBuilder builder
+    ) {
+        int tag = indexOf(text, '<', from, to);
+        if (tag == -1) {
+            builder.append(text, from, to);
+            return;
+        }
 
-        final boolean ignoreColors = properties.contains("ignorecolors");
-        final boolean ignoreDecorations = properties.contains("ignoredecorations");
-        final boolean ignoreClickables = properties.contains("ignoreclickables");
-        while (matcher.find()) {
-            final String found = matcher.group();
-            final String content = found.substring(1, found.length() - 1);
-
-            boolean skip = false;
-            if (ignoreColors && isColor(content)) {
-                skip = true;
-            } else if (ignoreDecorations && isDecoration(content)) {
-                skip = true;
-            } else if (ignoreClickables && content.toLowerCase().startsWith("click")) {
-                skip = true;
+        final int[] tagEnds = tagEnds(text, from, to);
+        int lastEnd = from;
+        while (tag != -1) {
+            int nameEnd = tag + 1;
+            while (nameEnd < to && isWordCharacter(text.charAt(nameEnd))) {
+                nameEnd++;
+            }
+
+            final int end = nameEnd > tag + 1 ? tagEnds[nameEnd - from] : -1;
+            if (end == -1) {
+                tag = indexOf(text, '<', tag + 1, to);
+                continue;
             }
 
-            builder.append(text, lastEnd, matcher.start());
-            if (!skip) {
+            builder.append(text, lastEnd, tag);
+            if (!isIgnored(text, tag + 1, end - 1, properties)) {
                 builder.append('\\');
             }
-            builder.append(found);
-            lastEnd = matcher.end();
+            builder.append(text, tag, end);
+
+            lastEnd = end;
+            tag = indexOf(text, '<', end, to);
         }
 
-        builder.append(text.substring(lastEnd));
-        return builder.toString();
+        builder.append(text, lastEnd, to);
+    }
+
+    /**
+     * Finds where a tag whose name ends at each position would end, the way {@link #TAG_PATTERN} reads it.
+     * <p>
+     * After its name, a tag reads arguments, either {@code :"quoted"} (tried first) or {@code :plain},
+     * a plain one reaching as far as possible before a {@code <}, until a {@code >} closes it.
+     * Working from the end of the content, every position is solved once from the ones after it.
+     *
+     * @return the ends, indexed from {@code from}, {@code -1} where no tag can end
+     */
+    private static int[] tagEnds(final String text, final int from, final int to) {
+        final int[] ends = new int[to - from + 1];
+        ends[to - from] = -1;
+
+        // The end reached from the furthest position before the next '<' that leads to one
+        int runEnd = -1;
+        for (int i = to - 1; i >= from; i--) {
+            final char character = text.charAt(i);
+            int end = -1;
+            if (character == '>') {
+                end = i + 1;
+            } else if (character == ':') {
+                if (i + 1 < to && text.charAt(i + 1) == '"') {
+                    final int closingQuote = indexOf(text, '"', i + 2, to);
+                    if (closingQuote != -1) {
+                        end = ends[closingQuote + 1 - from];
+                    }
+                }
+
+                if (end == -1) {
+                    end = runEnd;
+                }
+            }
+
+            ends[i - from] = end;
+            if (character == '<') {
+                runEnd = -1;
+            } else if (runEnd == -1) {
+                runEnd = end;
+            }
+        }
+        return ends;
+    }
+
+    /**
+     * Checks whether a tag is left unescaped by the properties of its quote.
+     */
+    private static boolean isIgnored(final String text, final int start, final int end, final int properties) {
+        if ((properties & IGNORE_COLORS) != 0 && anySegment(text, start, end, COLOR_TAGS, StandardTags.color())) {
+            return true;
+        } else if ((properties & IGNORE_DECORATIONS) != 0 && anySegment(text, start, end, DECORATION_TAGS, null)) {
+            return true;
+        }
+        return (properties & IGNORE_CLICKABLES) != 0 && text.regionMatches(true, start, "click", 0, 5);
+    }
+
+    /**
+     * Reads the properties of a quote, as ':' separated case-insensitive names.
+     */
+    private static int properties(final String text, final int start, final int end) {
+        if (start >= end) {
+            return 0;
+        }
+
+        final String lowered = text.substring(start, end).toLowerCase();
+        int properties = 0;
+        for (int segment = 0; segment <= lowered.length(); ) {
+            int segmentEnd = lowered.indexOf(':', segment);
+            if (segmentEnd == -1) {
+                segmentEnd = lowered.length();
+            }
+
+            final int length = segmentEnd - segment;
+            if (isSegment(lowered, segment, length, "ignorecolors")) {
+                properties |= IGNORE_COLORS;
+            } else if (isSegment(lowered, segment, length, "ignoredecorations")) {
+                properties |= IGNORE_DECORATIONS;
+            } else if (isSegment(lowered, segment, length, "ignoreclickables")) {
+                properties |= IGNORE_CLICKABLES;
+            }
+            segment = segmentEnd + 1;
+        }
+        return properties;
     }
 
     /**
@@ -156,10 +338,7 @@ public final class Strings {
      * @return {@code true} if the tag content represents a color, {@code false} otherwise.
      */
     public static boolean isColor(final String tagContent) {
-        for (final String split : tagContent.split(":")) {
-            if (StandardTags.color().has(split)) return true;
-        }
-        return false;
+        return anySegment(tagContent, 0, tagContent.length(), COLOR_TAGS, StandardTags.color());
     }
 
     /**
@@ -169,11 +348,83 @@ public final class Strings {
      * @return {@code true} if the tag content represents a decoration, {@code false} otherwise.
      */
     public static boolean isDecoration(final String tagContent) {
-        for (final String split : tagContent.split(":")) {
-            if (StandardTags.decorations().has(split)) return true;
+        return anySegment(tagContent, 0, tagContent.length(), DECORATION_TAGS, null);
+    }
+
+    /**
+     * Checks whether any ':' separated segment of a tag is one of the given names.
+     *
+     * @param hexResolver the resolver asked about the segments starting with '#', if they can be claimed
+     */
+    private static boolean anySegment(
+            final String text,
+            final int start,
+            final int end,
+            final Set<String> names,
+            final TagResolver hexResolver
+    ) {
+        for (int segment = start; segment < end; ) {
+            int segmentEnd = indexOf(text, ':', segment, end);
+            if (segmentEnd == -1) {
+                segmentEnd = end;
+            }
+
+            if (segmentEnd > segment) {
+                final String name = text.substring(segment, segmentEnd);
+                if (names.contains(name) || (hexResolver != null && name.charAt(0) == '#' && hexResolver.has(name))) {
+                    return true;
+                }
+            }
+            segment = segmentEnd + 1;
         }
         return false;
     }
+
+    private static Set<String> claimedNames(final TagResolver resolver, final Stream<String> candidates) {
+        return candidates.filter(resolver::has).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static boolean isSegment(final String text, final int start, final int length, final String name) {
+        return length == name.length() && text.startsWith(name, start);
+    }
+
+    private static boolean isWordCharacter(final char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9') || character == '_';
+    }
+
+    /**
+     * Finds where the line holding the given index ends, the way '.' stops in a regex.
+     */
+    private static int lineEnd(final String text, final int index) {
+        for (int i = index; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            if (character == '\n' || character == '\r' || character == '\u0085'
+                    || character == '\u2028' || character == '\u2029') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private static int indexOf(final String text, final char character, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(final String text, final String needle, final int from, final int floor) {
+        for (int i = Math.min(from, text.length() - needle.length()); i >= floor; i--) {
+            if (text.startsWith(needle, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Extracts only the numeric digits and at most a single decimal point from the input string.
      * <p>
@@ -309,12 +560,94 @@ public final class Strings {
      * @param message the message to check and process
      * @return an {@link Optional} containing the processed message if the symbol prefix is found;
      *         otherwise, {@link Optional#empty()}
+     * @see #parsePrefixed(String)
+     * @see #prefixIndex(String)
+     * @see #appendUnprefixed(String, int, StringBuilder)
      */
     public static Optional<String> parsePrefixedMessage(final String message) {
-        if (message == null || message.isEmpty()) {
+        return parsePrefixed(message).map(PrefixedMessage::text);
+    }
+
+    /**
+     * Parses a prefixed message like {@link #parsePrefixedMessage(String)}, also telling
+     * which {@link PrefixProfile} the prefix belongs to.
+     *
+     * @param message the message to check and process
+     * @return the processed message and its profile, or {@link Optional#empty()} if it isn't prefixed
+     */
+    public static Optional<PrefixedMessage> parsePrefixed(final String message) {
+        final int index = visibleIndex(message);
+        if (index < 0) {
             return Optional.empty();
         }
 
+        final PrefixMatcher matcher = prefixMatcher;
+        final int pattern = matcher.match(message, index);
+        if (pattern == PrefixMatcher.NONE) {
+            return Optional.empty();
+        }
+
+        final StringBuilder builder = new StringBuilder(message.length());
+        append(matcher, message, index, matcher.length(pattern), builder);
+        return Optional.of(new PrefixedMessage(builder.toString(), matcher.profile(pattern)));
+    }
+
+    /**
+     * Finds where the prefix (or an incognito one) of a message is, following the same rules
+     * as {@link #parsePrefixedMessage(String)} without allocating anything.
+     *
+     * @param message the message to check
+     * @return the index the prefix starts at, or {@code -1} if the message isn't prefixed
+     */
+    public static int prefixIndex(final String message) {
+        final int index = visibleIndex(message);
+        return index >= 0 && prefixMatcher.match(message, index) != PrefixMatcher.NONE ? index : -1;
+    }
+
+    /**
+     * Gets the profile of the prefix at the given index.
+     *
+     * @param message the prefixed message
+     * @param index the index of its prefix, as returned by {@link #prefixIndex(String)}
+     * @return the profile, or {@code null} if there's no prefix at the index
+     */
+    public static PrefixProfile profileAt(final String message, final int index) {
+        final PrefixMatcher matcher = prefixMatcher;
+        final int pattern = matcher.match(message, index);
+        return pattern == PrefixMatcher.NONE ? null : matcher.profile(pattern);
+    }
+
+    /**
+     * Appends a prefixed message to a buffer in a single pass, removing its prefix, replacing the
+     * '§' color symbols after it with '&' and removing every incognito prefix.
+     * <p>
+     * The result is the same as {@link #parsePrefixedMessage(String)}, minus the allocations
+     * if the buffer is reused.
+     *
+     * @param message the prefixed message
+     * @param index the index of its prefix, as returned by {@link #prefixIndex(String)}
+     * @param into the buffer the message is appended to
+     * @throws IllegalArgumentException if there's no prefix at the index
+     */
+    public static void appendUnprefixed(final String message, final int index, final StringBuilder into) {
+        final PrefixMatcher matcher = prefixMatcher;
+        final int pattern = matcher.match(message, index);
+        if (pattern == PrefixMatcher.NONE) {
+            throw new IllegalArgumentException("No prefix at index " + index + " of " + message);
+        }
+        append(matcher, message, index, matcher.length(pattern), into);
+    }
+
+    /**
+     * Finds the first character that isn't part of a formatting code, a tag or leading whitespace.
+     *
+     * @return its index, or {@code -1} if there's none
+     */
+    private static int visibleIndex(final String message) {
+        if (message == null || message.isEmpty()) {
+            return -1;
+        }
+
         int tagDepth = 0;
         for (int i = 0; i < message.length(); i++) {
             char character = message.charAt(i);
@@ -334,27 +667,38 @@ public final class Strings {
                 continue;
             }
 
-            int prefixLength = -1;
-            if (message.startsWith(symbolPrefix, i)) {
-                prefixLength = symbolPrefix.length();
-            } else if (message.startsWith(incognitoPrefix, i)) {
-                prefixLength = incognitoPrefix.length();
+            return i;
+        }
+
+        return -1;
+    }
+
+    private static void append(
+            final PrefixMatcher matcher,
+            final String message,
+            final int index,
+            final int prefixLength,
+            final StringBuilder into
+    ) {
+        // Incognito prefixes are matched on the written characters, never overlapping a removed one
+        int state = PrefixMatcher.ROOT;
+        for (int i = 0; i < message.length(); i++) {
+            if (i == index) {
+                i += prefixLength - 1;
+                continue;
             }
 
-            if (prefixLength > 0) {
-                StringBuilder sb = new StringBuilder(message.length());
-                sb.append(message, 0, i);
-                for (int j = i + prefixLength; j < message.length(); j++) {
-                    char c = message.charAt(j);
-                    sb.append(c == '§' ? '&' : c);
-                }
-                return Optional.of(sb.toString().replace(incognitoPrefix, ""));
-            } else {
-                return Optional.empty();
+            final char character = message.charAt(i);
+            final char written = character == '§' && i > index ? '&' : character;
+            into.append(written);
+
+            state = matcher.step(state, written);
+            final int incognito = matcher.incognitoEnd(state);
+            if (incognito != PrefixMatcher.NONE) {
+                into.setLength(into.length() - matcher.length(incognito));
+                state = PrefixMatcher.ROOT;
             }
         }
-
-        return Optional.empty();
     }
 
     /**
@@ -3,33 +3,27 @@ package to.itsme.itsmyconfig.util;
 import me.clip.placeholderapi.PlaceholderAPI;
 import net.kyori.adventure.platform.bukkit.BukkitComponentSerializer;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextComponent;
-import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 import net.kyori.adventure.text.serializer.bungeecord.BungeeComponentSerializer;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
-import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
-import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import to.itsme.itsmyconfig.ItsMyConfig;
-import to.itsme.itsmyconfig.font.Font;
-import to.itsme.itsmyconfig.font.FontTag;
+import to.itsme.itsmyconfig.font.FontRegistry;
 import to.itsme.itsmyconfig.placeholder.Placeholder;
 import to.itsme.itsmyconfig.placeholder.PlaceholderDependancy;
 import to.itsme.itsmyconfig.placeholder.type.ColorPlaceholder;
 import to.itsme.itsmyconfig.tag.TagManager;
+import to.itsme.itsmyconfig.util.jfr.TranslateEvent;
 
-import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 /**
  * The Utilities class provides various utility methods for performing common tasks.
@@ -42,15 +36,39 @@ public final class Utilities {
     public static final GsonComponentSerializer GSON_SERIALIZER = BukkitComponentSerializer.gson();
     public static final BungeeComponentSerializer BUNGEE_SERIALIZER = BungeeComponentSerializer.get();
 
-    private static final TagResolver FONT_RESOLVER;
-    private static final Field TEXT_COMPONENT_CONTENT;
+    private static final TagResolver FONT_RESOLVER = FontRegistry.RESOLVER;
+    static final TagResolver STATIC_RESOLVERS = TagResolver.resolver(
+            LegacyLexer.RESOLVER, FONT_RESOLVER, StandardTags.defaults()
+    );
+    private static final TagResolver EMPTY_ITSMYCONFIG_TAG = TagResolver.resolver("p", (argumentQueue, context) -> {
+        if (!argumentQueue.hasNext()) {
+            return Tag.preProcessParsed("Unknown Placeholder");
+        }
 
-    static {
-        final TagResolver.Builder builder = TagResolver.builder();
-        for (final @Subst("") Font font : Font.values()) {
-            builder.tag(font.getName(), new FontTag(font));
+        final String name = argumentQueue.popOr("").value();
+        final Placeholder data = plugin.getPlaceholderManager().get(name);
+        if (data == null) {
+            return Tag.preProcessParsed("Unknown Placeholder");
+        }
+
+        if (data instanceof ColorPlaceholder colorPlaceholder) {
+            return colorPlaceholder.getStyle();
+        }
+
+        final String[] args = arguments(argumentQueue);
+        if (!data.hasDependency(PlaceholderDependancy.NONE)) {
+            return Tag.preProcessParsed("");
         }
-        FONT_RESOLVER = builder.build();
+
+        final String parsed = data.asString(args);
+        return Tag.preProcessParsed(parsed == null ? "" : LegacyLexer.lex(parsed));
+    });
+
+    /* Per-thread, since placeholders may translate other texts while a tag resolves */
+    private static final ThreadLocal<List<String>> ARGUMENT_BUFFER = ThreadLocal.withInitial(ArrayList::new);
+    private static final String[] NO_ARGUMENTS = new String[0];
+
+    static {
         MM = MiniMessage.builder()
                 .tags(
                         TagResolver.builder()
@@ -60,14 +78,6 @@ public final class Utilities {
                                 ).build()
                 ).build();
         EMPTY_MM = MiniMessage.builder().tags(TagResolver.empty()).build();
-        try {
-            final Class<?> textComponentImpClazz = Component.empty().getClass(); // Should be net.kyori.adventure.text.TextComponentImpl class
-            final Field contentField = textComponentImpClazz.getDeclaredField("content");
-            contentField.setAccessible(true);
-            TEXT_COMPONENT_CONTENT = contentField;
-        } catch (NoSuchFieldException e) {
-            throw new RuntimeException(e);
-        }
     }
 
     /**
@@ -106,15 +116,15 @@ public final class Utilities {
             final String text,
             final TagResolver... placeholders
     ) {
+        final TranslateEvent event = new TranslateEvent();
+        event.begin();
         final Component translated = EMPTY_MM.deserialize(
-                Strings.quote(text),
-                emptyItsMyConfigTag(),
-                FONT_RESOLVER, StandardTags.defaults(),
-                TagResolver.resolver(placeholders)
+                LegacyLexer.lex(Strings.quote(text)),
+                EMPTY_ITSMYCONFIG_TAG, STATIC_RESOLVERS,
+                extra(placeholders)
         );
 
-        applyChatColors(translated);
-        return cleanUp(translated);
+        return commit(event, text, translated);
     }
 
     /**
@@ -133,15 +143,15 @@ public final class Utilities {
             return translate(text, player.getPlayer(), placeholders);
         }
 
+        final TranslateEvent event = new TranslateEvent();
+        event.begin();
         final Component translated = EMPTY_MM.deserialize(
-                Strings.quote(text),
+                LegacyLexer.lex(Strings.quote(text)),
                 itsMyConfigTag(player), papiTag(player),
-                FONT_RESOLVER, StandardTags.defaults(),
-                TagResolver.resolver(placeholders)
+                STATIC_RESOLVERS, extra(placeholders)
         );
 
-        applyChatColors(translated);
-        return cleanUp(translated);
+        return commit(event, text, translated);
     }
 
     /**
@@ -156,52 +166,90 @@ public final class Utilities {
             final Player player,
             final TagResolver... placeholders
     ) {
+        return translate(text, player, true, placeholders);
+    }
+
+    /**
+     * Translates a String into a {@link Component}, installing the resolvers its prefix profile allows.
+     *
+     * @param text The text to translate.
+     * @param player The player translated-for.
+     * @param profile The profile of the prefix the text had.
+     * @return The translated {@link Component}.
+     */
+    public static @NotNull Component translate(
+            final String text,
+            final Player player,
+            final PrefixProfile profile,
+            final TagResolver... placeholders
+    ) {
+        return translate(text, player, profile.placeholderApi(), placeholders);
+    }
+
+    private static @NotNull Component translate(
+            final String text,
+            final Player player,
+            final boolean placeholderApi,
+            final TagResolver... placeholders
+    ) {
+        final TranslateEvent event = new TranslateEvent();
+        event.begin();
         final Component translated = EMPTY_MM.deserialize(
-                TagManager.process(
+                LegacyLexer.lex(TagManager.process(
                         player, Strings.quote(text)
-                ),
-                itsMyConfigTag(player), papiTag(player),
-                FONT_RESOLVER, StandardTags.defaults(),
-                TagResolver.resolver(placeholders)
+                )),
+                PlayerContext.of(player).resolvers(placeholderApi),
+                STATIC_RESOLVERS, extra(placeholders)
         );
 
-        applyChatColors(translated);
-        return cleanUp(translated);
+        return commit(event, text, translated);
     }
 
     /**
-     * Provides a ItsMyConfig placeholders tag resolver.
-     *
-     * @return The ItsMyConfig placeholder tag resolver.
+     * Combines the extra resolvers of a translation, skipping the work when there are none.
      */
-    public static TagResolver emptyItsMyConfigTag() {
-        return TagResolver.resolver("p", (argumentQueue, context) -> {
-            if (!argumentQueue.hasNext()) {
-                return Tag.preProcessParsed("Unknown Placeholder");
-            }
+    private static TagResolver extra(final TagResolver... placeholders) {
+        return placeholders.length == 0 ? TagResolver.empty() : TagResolver.resolver(placeholders);
+    }
 
-            final String name = argumentQueue.popOr("").value();
-            final Placeholder data = plugin.getPlaceholderManager().get(name);
-            if (data == null) {
-                return Tag.preProcessParsed("Unknown Placeholder");
-            }
+    /**
+     * Drains the remaining arguments of a tag through the thread's buffer.
+     * The buffer is emptied before the arguments are handed over, so nested translations can reuse it.
+     */
+    private static String[] arguments(final ArgumentQueue argumentQueue) {
+        if (!argumentQueue.hasNext()) {
+            return NO_ARGUMENTS;
+        }
 
-            if (data instanceof ColorPlaceholder colorPlaceholder) {
-                return colorPlaceholder.getStyle();
-            }
+        final List<String> buffer = ARGUMENT_BUFFER.get();
+        while (argumentQueue.hasNext()) {
+            buffer.add(argumentQueue.pop().value());
+        }
 
-            final List<String> args = new LinkedList<>();
-            while (argumentQueue.hasNext()) {
-                args.add(argumentQueue.pop().value());
-            }
+        final String[] args = buffer.toArray(NO_ARGUMENTS);
+        buffer.clear();
+        return args;
+    }
 
-            if (!data.hasDependency(PlaceholderDependancy.NONE)) {
-                return Tag.preProcessParsed("");
-            }
+    /**
+     * Commits a translation event if a recording wants it.
+     */
+    private static Component commit(final TranslateEvent event, final String text, final Component translated) {
+        if (event.shouldCommit()) {
+            event.messageLength = text.length();
+            event.resultSize = TranslateEvent.size(translated);
+            event.commit();
+        }
+        return translated;
+    }
 
-            final String parsed = data.asString(args.toArray(new String[0]));
-            return Tag.preProcessParsed((parsed == null ? "" : parsed).replace("§", "&"));
-        });
+    /**
+     * Provides a ItsMyConfig placeholders tag resolver.
+     *
+     * @return The ItsMyConfig placeholder tag resolver.
+     */
+    public static TagResolver emptyItsMyConfigTag() {
+        return EMPTY_ITSMYCONFIG_TAG;
     }
 
     /**
@@ -226,16 +274,27 @@ public final class Utilities {
                 return colorPlaceholder.getStyle();
             }
 
-            final List<String> args = new LinkedList<>();
-            while (argumentQueue.hasNext()) {
-                args.add(argumentQueue.pop().value());
-            }
-
-            final String parsed = data.asString(player, args.toArray(new String[0]));
-            return Tag.preProcessParsed((parsed == null ? "" : parsed).replace("§", "&"));
+            final String parsed = data.asString(player, arguments(argumentQueue));
+            return Tag.preProcessParsed(parsed == null ? "" : LegacyLexer.lex(parsed));
         });
     }
 
+    /**
+     * Resolves the PlaceholderAPI placeholders of a text, reusing the values an online player's
+     * placeholders resolved to within the memo window.
+     *
+     * @param player The player for whom the placeholders are resolved.
+     * @param text The text to resolve.
+     * @return The text with its placeholders resolved.
+     */
+    public static String setPlaceholders(final OfflinePlayer player, final String text) {
+        final Player online = player == null ? null : player.getPlayer();
+        if (online == null) {
+            return PlaceholderAPI.setPlaceholders(player, text);
+        }
+        return PlayerContext.of(online).placeholders().apply(text);
+    }
+
     /**
      * Provides a PlaceholderAPI tag resolver.
      *
@@ -245,65 +304,9 @@ public final class Utilities {
     public static TagResolver papiTag(final OfflinePlayer player) {
         return TagResolver.resolver("papi", (argumentQueue, context) -> {
             final String papiPlaceholder = argumentQueue.popOr("papi tag requires an argument").value();
-            final String parsedPlaceholder = PlaceholderAPI.setPlaceholders(player, '%' + papiPlaceholder + '%');
-            return Tag.preProcessParsed(parsedPlaceholder.replace("§", "&"));
+            final String parsedPlaceholder = setPlaceholders(player, '%' + papiPlaceholder + '%');
+            return Tag.preProcessParsed(LegacyLexer.lex(parsedPlaceholder));
         });
     }
 
-    /**
-     * Cleans up a Component by removing all decorations that are explicitly set to false.
-     * This is applied recursively to all children.
-     *
-     * @param component The Component to clean up.
-     * @return The cleaned-up Component.
-     */
-    public static Component cleanUp(final Component component) {
-        // Clean decorations at this level
-        final Map<TextDecoration, TextDecoration.State> decorations = component.decorations();
-        final Map<TextDecoration, TextDecoration.State> cleanedDecorations = decorations.entrySet().stream()
-                .filter(entry -> entry.getValue() != TextDecoration.State.FALSE)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        // Recursively clean children
-        final List<Component> cleanedChildren = component.children().stream()
-                .map(Utilities::cleanUp)
-                .collect(Collectors.toList());
-
-        return component.decorations(cleanedDecorations).children(cleanedChildren);
-    }
-
-    /**
-     * Applies chat colors to a root component and its children recursively.
-     *
-     * @param rootComponent The root component to apply chat colors to.
-     */
-    @SuppressWarnings("all")
-    @Deprecated(forRemoval = true)
-    public static void applyChatColors(final Component rootComponent) {
-        if (rootComponent instanceof TextComponent textComponent) {
-            final String translateAlternateColorCodes = ChatColor.translateAlternateColorCodes('&', textComponent.content());
-            modifyTextComponent(textComponent, translateAlternateColorCodes);
-            for (final Component component : rootComponent.children()) {
-                applyChatColors(component);
-            }
-        }
-    }
-
-    /**
-     * Modifies the content of a TextComponent instance.
-     *
-     * @param component The TextComponent instance to modify.
-     * @param content       The new content for the TextComponent.
-     */
-    private static void modifyTextComponent(
-            final @NotNull TextComponent component,
-            final @Nullable String content
-    ) {
-        try {
-            TEXT_COMPONENT_CONTENT.set(component, content);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
 }
@@ -0,0 +1,40 @@
+package to.itsme.itsmyconfig.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted around the processing of a chat packet by the packet listener.
+ */
+@Name("itsmyconfig.Packet")
+@Label("Packet Processing")
+@Category("ItsMyConfig")
+@Description("A chat packet going through the packet listener")
+@StackTrace(false)
+public final class PacketProcessEvent extends Event {
+
+    @Label("Listener")
+    public String listener;
+
+    @Label("Packet Type")
+    public String packetType;
+
+    /**
+     * Commits the event if a recording wants it.
+     *
+     * @param listener the name of the packet listener
+     * @param packetType the name of the packet type
+     */
+    public void commit(final String listener, final String packetType) {
+        if (this.shouldCommit()) {
+            this.listener = listener;
+            this.packetType = packetType;
+            this.commit();
+        }
+    }
+
+}
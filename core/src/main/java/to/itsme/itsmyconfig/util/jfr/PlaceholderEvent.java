@@ -0,0 +1,29 @@
+package to.itsme.itsmyconfig.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted around the resolution of a placeholder.
+ */
+@Name("itsmyconfig.Placeholder")
+@Label("Placeholder")
+@Category("ItsMyConfig")
+@Description("A placeholder being resolved")
+@StackTrace(false)
+public final class PlaceholderEvent extends Event {
+
+    @Label("Identifier")
+    public String identifier;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Result Length")
+    public int resultLength;
+
+}
@@ -0,0 +1,30 @@
+package to.itsme.itsmyconfig.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted around the serialization of a message to MiniMessage.
+ */
+@Name("itsmyconfig.Serialize")
+@Label("Serialize")
+@Category("ItsMyConfig")
+@Description("A component or json message serialized to MiniMessage")
+@StackTrace(false)
+public final class SerializeEvent extends Event {
+
+    @Label("Input")
+    @Description("Either component or json")
+    public String input;
+
+    @Label("Serializer")
+    public String serializer;
+
+    @Label("Result Length")
+    public int resultLength;
+
+}
@@ -0,0 +1,26 @@
+package to.itsme.itsmyconfig.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted around the processing of the argument tags of a message.
+ */
+@Name("itsmyconfig.TagProcess")
+@Label("Tag Processing")
+@Category("ItsMyConfig")
+@Description("The argument tags of a message being processed")
+@StackTrace(false)
+public final class TagProcessEvent extends Event {
+
+    @Label("Message Length")
+    public int messageLength;
+
+    @Label("Result Length")
+    public int resultLength;
+
+}
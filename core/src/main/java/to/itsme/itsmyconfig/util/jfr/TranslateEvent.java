@@ -0,0 +1,39 @@
+package to.itsme.itsmyconfig.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Emitted around the translation of a message into a component.
+ */
+@Name("itsmyconfig.Translate")
+@Label("Translate")
+@Category("ItsMyConfig")
+@Description("A message translated through MiniMessage and the ItsMyConfig tags")
+@StackTrace(false)
+public final class TranslateEvent extends Event {
+
+    @Label("Message Length")
+    public int messageLength;
+
+    @Label("Result Size")
+    @Description("The amount of components in the translated message")
+    public int resultSize;
+
+    /**
+     * Counts the components of a translated message, only meant for committed events.
+     */
+    public static int size(final Component component) {
+        int size = 1;
+        for (final Component child : component.children()) {
+            size += size(child);
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,73 @@
+package to.itsme.itsmyconfig.font;
+
+import org.junit.jupiter.api.Test;
+import to.itsme.itsmyconfig.util.Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFontTest {
+
+    @Test
+    void testApply() {
+        final MappedFont font = MappedFont.SMALL_CAPS;
+        assertEquals("ʜᴇʟʟᴏ, ᴡᴏʀʟᴅ! 123", font.apply("Hello, World! 123"));
+        assertEquals("ᴄᴀꜰᴇ ɴᴀɪᴠᴇ", font.apply("Café naïve"));
+        assertEquals("ᴇ", font.apply("é"));
+
+        // Characters without a plain form are kept
+        assertEquals("ß Ω 日本 😀", font.apply("ß Ω 日本 😀"));
+        assertEquals("", font.apply(""));
+    }
+
+    @Test
+    void testCodePoints() {
+        final MappedFont font = new MappedFont("bold", "Abß", "𝐀𝐛𝐒");
+        assertEquals("𝐀𝐛𝐒c", font.apply("Abßc"));
+        assertEquals("𝐀", font.apply("Á"));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFont("broken", "ab", "𝐀"));
+    }
+
+    @Test
+    void testFoldsOtherBlocks() {
+        final MappedFont font = MappedFont.SMALL_CAPS;
+        // Latin Extended Additional, then Greek, folded on the first call and remembered for the next ones
+        for (int run = 0; run < 2; run++) {
+            assertEquals("ᴀ ʜ ᴇ", font.apply("ạ ḩ ế"));
+            assertEquals("α 日本", font.apply("ά 日本"));
+        }
+    }
+
+    @Test
+    void testApplyMatchesReference() {
+        final Random random = new Random(20);
+        final String characters = "abcXYZ019 !éÀçñÿüÖ";
+        for (int run = 0; run < 20_000; run++) {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(16); i > 0; i--) {
+                builder.append(characters.charAt(random.nextInt(characters.length())));
+            }
+
+            final String text = builder.toString();
+            assertEquals(referenceApply(text), MappedFont.SMALL_CAPS.apply(text), text);
+        }
+    }
+
+    /**
+     * The former implementation, correct as long as the text has an ASCII plain form.
+     */
+    private static String referenceApply(final String text) {
+        final String original = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        final String replacements = "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘꞯʀsᴛᴜᴠᴡxʏᴢ";
+        final StringBuilder builder = new StringBuilder();
+        for (final byte messageByte : Strings.englishify(text).getBytes(StandardCharsets.UTF_8)) {
+            final char character = (char) messageByte;
+            final int index = original.indexOf(character);
+            builder.append(index == -1 ? character : replacements.charAt(index));
+        }
+        return builder.toString();
+    }
+
+}
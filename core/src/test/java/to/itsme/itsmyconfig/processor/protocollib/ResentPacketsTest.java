@@ -0,0 +1,67 @@
+package to.itsme.itsmyconfig.processor.protocollib;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import to.itsme.itsmyconfig.processor.AsyncTranslator;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResentPacketsTest {
+
+    private final AsyncTranslator translator = new AsyncTranslator(1, 16, 5000);
+    private final ResentPackets resent = new ResentPackets();
+    private final List<String> wire = new CopyOnWriteArrayList<>();
+    private final CountDownLatch written = new CountDownLatch(2);
+
+    @AfterEach
+    void close() {
+        translator.close();
+    }
+
+    @Test
+    void testHeldPacketIsWrittenBeforePassedOne() throws InterruptedException {
+        final CountDownLatch translating = new CountDownLatch(1);
+        final Object connection = new Object();
+
+        // A is held for translation, B is passed untouched behind it and is ready right away
+        translator.submit(
+                connection,
+                () -> {
+                    await(translating);
+                    return Component.text("A");
+                },
+                (component, release) -> resent.forward("A", () -> this.dispatch("A"), release)
+        );
+        assertTrue(translator.isQueued(connection));
+        translator.submit(connection, (component, release) -> resent.forward("B", () -> this.dispatch("B"), release));
+
+        translating.countDown();
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("A", "B"), wire);
+        assertFalse(resent.claim("A"));
+    }
+
+    /**
+     * Sends a packet the way ProtocolLib does: the listeners see it before it reaches the channel.
+     */
+    private void dispatch(final String packet) {
+        assertTrue(resent.claim(packet), "a resent packet must be let through by the listener");
+        wire.add(packet);
+        written.countDown();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
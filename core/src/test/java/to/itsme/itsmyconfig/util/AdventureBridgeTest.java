@@ -0,0 +1,68 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdventureBridgeTest {
+
+    // Tests run without relocation, so the "server" components are the same classes and must come out equal
+
+    @Test
+    void testToNative() {
+        assertNull(AdventureBridge.toNative(null));
+
+        final Component plain = Component.text("hello");
+        assertEquals(plain, AdventureBridge.toNative(plain));
+
+        final Component styled = Component.text("hello", Style.style()
+                .color(NamedTextColor.RED)
+                .decoration(TextDecoration.BOLD, true)
+                .decoration(TextDecoration.ITALIC, false)
+                .font(Key.key("minecraft", "uniform"))
+                .insertion("insert")
+                .clickEvent(ClickEvent.runCommand("/spawn"))
+                .hoverEvent(HoverEvent.showText(Component.text("hover", TextColor.color(0x123456))))
+                .build());
+        assertEquals(styled, AdventureBridge.toNative(styled));
+
+        final Component nested = Component.text()
+                .append(Component.translatable("chat.type.text", Component.text("a"), Component.keybind("key.jump")))
+                .append(Component.translatable("some.key", "fallback"))
+                .append(Component.text(" world", NamedTextColor.GRAY))
+                .build();
+        assertEquals(nested, AdventureBridge.toNative(nested));
+    }
+
+    @Test
+    void testFromNative() {
+        assertNull(AdventureBridge.fromNative(null));
+
+        final Component component = Component.text()
+                .append(Component.text("[Server] ", NamedTextColor.GOLD, TextDecoration.BOLD))
+                .append(Component.text("Player", TextColor.color(0x55AAFF))
+                        .hoverEvent(HoverEvent.showText(Component.text("Click to message")))
+                        .clickEvent(ClickEvent.suggestCommand("/msg Player ")))
+                .append(Component.translatable("chat.type.text", Component.text("a"), Component.keybind("key.jump")))
+                .build();
+        assertEquals(component, AdventureBridge.fromNative(component));
+        assertEquals(component, AdventureBridge.fromNative(AdventureBridge.toNative(component)));
+    }
+
+    @Test
+    void testUnsupportedNodes() {
+        assertNull(AdventureBridge.toNative(Component.score("name", "objective")));
+        assertNull(AdventureBridge.toNative(Component.text("hello").append(Component.selector("@p"))));
+        assertNull(AdventureBridge.toNative(Component.text("page").clickEvent(ClickEvent.changePage(2))));
+        assertNull(AdventureBridge.fromNative(Component.score("name", "objective")));
+    }
+
+}
@@ -0,0 +1,91 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentTemplateTest {
+
+    @Test
+    void testApply() {
+        final ArgumentTemplate template = ArgumentTemplate.compile("Hi {0}, {1} {0}!");
+        assertTrue(template.hasArguments());
+        assertEquals("Hi a, b a!", template.apply(new String[]{"a", "b"}, 0));
+        assertEquals("Hi b, {1} b!", template.apply(new String[]{"a", "b"}, 1));
+        assertEquals("Hi $1, {1} $1!", template.apply(new String[]{"$1"}, 0));
+        assertSame(template.text(), template.apply(new String[0], 0));
+
+        // Inserted values aren't scanned for arguments
+        assertEquals("{1}b", ArgumentTemplate.compile("{0}{1}").apply(new String[]{"{1}", "b"}, 0));
+
+        assertEquals("{a} {01} {0 } x", ArgumentTemplate.compile("{a} {01} {0 } {0}").apply(new String[]{"x"}, 0));
+        assertEquals("{x", ArgumentTemplate.compile("{{0}").apply(new String[]{"x"}, 0));
+        assertEquals("{99999999999}", ArgumentTemplate.compile("{99999999999}").apply(new String[]{"x"}, 0));
+        assertEquals("{0} x", ArgumentTemplate.compile("{0} {1}", argument -> argument == 1).apply(new String[]{"x", "x"}, 0));
+        assertFalse(ArgumentTemplate.compile("{}").hasArguments());
+        assertNull(ArgumentTemplate.compile(null).text());
+    }
+
+    @Test
+    void testApplyMatchesReference() {
+        final Random random = new Random(19);
+        final String[] parts = {"{", "}", "0", "1", "2", "a", " ", "$"};
+        final String[] values = {"", "x", "$1", "yz"};
+        for (int run = 0; run < 100_000; run++) {
+            // Short enough for every argument to fit an int
+            final String text = random(random, parts, random.nextInt(10));
+            final String[] params = new String[random.nextInt(5)];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = values[random.nextInt(values.length)];
+            }
+
+            // Placeholder.replaceArguments, only replacing the registered arguments
+            final Set<Integer> registered = new HashSet<>(Strings.getArguments(text));
+            final int skipped = random.nextInt(2);
+            assertEquals(
+                    referenceReplaceArguments(registered, params, text, skipped),
+                    ArgumentTemplate.compile(text, registered::contains).apply(params, skipped),
+                    () -> text
+            );
+
+            // MapPlaceholder and RangePlaceholder, replacing {0} with args[1] onwards
+            assertEquals(referenceApplyArgs(text, params), ArgumentTemplate.compile(text).apply(params, 1), () -> text);
+        }
+    }
+
+    private static String random(final Random random, final String[] parts, final int count) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(parts[random.nextInt(parts.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String referenceReplaceArguments(final Set<Integer> arguments, final String[] params, final String message, final int skippedParams) {
+        if (arguments.isEmpty() || params.length == 0) {
+            return message;
+        }
+
+        String output = message;
+        for (final Integer argument : arguments) {
+            final int index = argument + skippedParams;
+            if (index >= params.length) continue;
+            output = output.replaceAll(Pattern.quote("{" + argument + "}"), params[index].replace("$", "\\$"));
+        }
+        return output;
+    }
+
+    private static String referenceApplyArgs(final String template, final String[] args) {
+        String out = template;
+        for (int i = 1; i < args.length; i++) {
+            out = out.replace("{" + (i - 1) + "}", args[i]);
+        }
+        return out;
+    }
+
+}
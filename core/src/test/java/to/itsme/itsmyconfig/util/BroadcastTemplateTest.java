@@ -0,0 +1,142 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastTemplateTest {
+
+    private static final MiniMessage PARSER = MiniMessage.builder().tags(TagResolver.empty()).build();
+
+    @Test
+    void testFillMatchesFullParse() {
+        final String text = "<red>Hello <papi:player_name>, <bold>you have <papi:vault_eco_balance></bold> coins";
+        final BroadcastTemplate template = compile(text);
+        assertNotNull(template);
+
+        final Component filled = template.fill(new String[]{"Steve", "100"});
+        final Component parsed = MiniMessage.miniMessage().deserialize("<red>Hello Steve, <bold>you have 100</bold> coins");
+        assertEquals(flatten(parsed), flatten(filled));
+    }
+
+    @Test
+    void testFillsHoverText() {
+        final BroadcastTemplate template = compile("<hover:show_text:'<green><papi:player_name>'>Who?</hover>");
+        assertNotNull(template);
+
+        final Component filled = template.fill(new String[]{"Steve"});
+        final Component parsed = MiniMessage.miniMessage().deserialize("<hover:show_text:'<green>Steve'>Who?</hover>");
+        assertEquals(flatten(hover(parsed)), flatten(hover(filled)));
+        assertEquals(flatten(parsed), flatten(filled));
+    }
+
+    @Test
+    void testMarkupValuesNeedFullParse() {
+        final BroadcastTemplate template = compile("Rank: <papi:vault_prefix>");
+        assertNotNull(template);
+        assertNull(template.fill(new String[]{"<gold>VIP"}));
+        assertNull(template.fill(new String[]{"\\<escaped"}));
+        assertNotNull(template.fill(new String[]{"VIP & co"}));
+    }
+
+    @Test
+    void testTransformingTagsAreNotTemplated() {
+        assertNull(compile("<gradient:red:blue>Hello <papi:player_name></gradient>"));
+        assertNull(compile("<rainbow><papi:player_name></rainbow>"));
+        assertNotNull(compile("<gradient:red:blue>Hello</gradient>"), "nothing to put in place");
+    }
+
+    @Test
+    void testSlotsInOrder() {
+        final BroadcastTemplate template = compile("<yellow><p:rank:first:'second one'></yellow> <papi:player_name>: <p:rank>");
+        assertNotNull(template);
+
+        final Component filled = template.fill(new String[]{"Admin", "Steve", "Mod"});
+        final Component parsed = MiniMessage.miniMessage().deserialize("<yellow>Admin</yellow> Steve: Mod");
+        assertEquals(flatten(parsed), flatten(filled));
+    }
+
+    @Test
+    void testRepeatedTags() {
+        final BroadcastTemplate template = compile("<papi:player_name> meets <papi:player_name>");
+        assertNotNull(template);
+        assertEquals(flatten(Component.text("Steve meets Steve")), flatten(template.fill(new String[]{"Steve"})));
+
+        assertNull(compile("<p:random_color> and <p:random_color>"), "every <p:> tag resolves on its own");
+    }
+
+    @Test
+    void testPlaceholderApiDisabled() {
+        final BroadcastTemplate.Slots slots = new BroadcastTemplate.Slots(name -> null);
+        final Component parsed = PARSER.deserialize("Hello <papi:player_name>", slots.resolver(false), slots.watch(StandardTags.defaults()));
+        final BroadcastTemplate template = BroadcastTemplate.of(parsed, slots);
+        assertNotNull(template);
+        assertEquals(flatten(MiniMessage.miniMessage().deserialize("Hello <papi:player_name>")), flatten(template.fill(new String[0])));
+    }
+
+    private static BroadcastTemplate compile(final String text) {
+        final BroadcastTemplate.Slots slots = new BroadcastTemplate.Slots(name -> null);
+        final Component parsed = PARSER.deserialize(text, slots.resolver(true), slots.watch(StandardTags.defaults()));
+        return BroadcastTemplate.of(parsed, slots);
+    }
+
+    private static Component hover(final Component component) {
+        final HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null) {
+            return (Component) hover.value();
+        }
+
+        for (final Component child : component.children()) {
+            final Component found = hover(child);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Flattens a component into its characters and their style, whatever the shape of its tree.
+     */
+    private static String flatten(final Component component) {
+        final StringBuilder builder = new StringBuilder();
+        flatten(component, null, false, builder, new String[1]);
+        return builder.toString();
+    }
+
+    private static void flatten(
+            final Component component,
+            final TextColor inheritedColor,
+            final boolean inheritedBold,
+            final StringBuilder builder,
+            final String[] lastStyle
+    ) {
+        final TextColor color = component.color() != null ? component.color() : inheritedColor;
+        final TextDecoration.State state = component.decoration(TextDecoration.BOLD);
+        final boolean bold = state == TextDecoration.State.NOT_SET ? inheritedBold : state == TextDecoration.State.TRUE;
+
+        if (component instanceof TextComponent text && !text.content().isEmpty()) {
+            final String style = Objects.toString(color) + (bold ? " bold" : "");
+            if (!style.equals(lastStyle[0])) {
+                builder.append('[').append(style).append(']');
+                lastStyle[0] = style;
+            }
+            builder.append(text.content());
+        }
+
+        for (final Component child : component.children()) {
+            flatten(child, color, bold, builder, lastStyle);
+        }
+    }
+
+}
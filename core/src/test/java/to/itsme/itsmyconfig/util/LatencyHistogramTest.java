@@ -0,0 +1,60 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBuckets() {
+        // Buckets are contiguous and every value falls within its bucket's bounds
+        long previous = -1;
+        for (long value = 0; value < 1 << 16; value++) {
+            final int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket));
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.upperBound(bucket - 1));
+            }
+            assertTrue(bucket == previous || bucket == previous + 1);
+            previous = bucket;
+        }
+
+        // At most 12.5% error
+        for (long value = 8; value < Long.MAX_VALUE / 16 && value > 0; value = value * 3 + 1) {
+            final long upper = LatencyHistogram.upperBound(LatencyHistogram.bucket(value));
+            assertTrue(upper - value <= value / 8, "error too large for " + value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0, histogram.mean());
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(500_500, histogram.mean(), 0.001);
+        assertWithin(500_000, histogram.percentile(0.5));
+        assertWithin(990_000, histogram.percentile(0.99));
+        assertEquals(1_000_000, histogram.percentile(1));
+
+        histogram.record(-5);
+        assertEquals(0, histogram.percentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8, "expected ~" + expected + " but was " + actual);
+    }
+
+}
@@ -0,0 +1,37 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegacyLexerTest {
+
+    @Test
+    void testCodes() {
+        assertEquals("<legacy:a>Hello <legacy:l>world", LegacyLexer.lex("&aHello &Lworld"));
+        assertEquals("<legacy:c>Red<reset> plain", LegacyLexer.lex("§cRed&r plain"));
+        assertEquals("<legacy:#a1b2c3>Hex", LegacyLexer.lex("&#A1b2C3Hex"));
+        assertEquals("<legacy:#a1b2c3>Hex", LegacyLexer.lex("&x&a&1§b&2&c&3Hex"));
+    }
+
+    @Test
+    void testPlainText() {
+        final String plain = "No codes here";
+        assertSame(plain, LegacyLexer.lex(plain));
+        assertEquals("Tom & Jerry &z &#12345", LegacyLexer.lex("Tom & Jerry &z &#12345"));
+        assertEquals("&x<legacy:a><legacy:1>", LegacyLexer.lex("&x&a&1"));
+        assertEquals("trailing &", LegacyLexer.lex("trailing &"));
+    }
+
+    @Test
+    void testTagsAndEscapes() {
+        assertEquals(
+                "<click:open_url:'https://a.b/?x=1&b=2'><legacy:a>Link</click>",
+                LegacyLexer.lex("<click:open_url:'https://a.b/?x=1&b=2'>&aLink</click>")
+        );
+        assertEquals("<hover:show_text:'&a\\'quoted'>x", LegacyLexer.lex("<hover:show_text:'&a\\'quoted'>x"));
+        assertEquals("\\&a a < <legacy:b>b", LegacyLexer.lex("\\&a a < &bb"));
+        assertEquals("<legacy:e>a <3 <legacy:d>b", LegacyLexer.lex("&ea <3 &db"));
+    }
+
+}
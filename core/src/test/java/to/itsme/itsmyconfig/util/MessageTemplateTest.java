@@ -0,0 +1,26 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    @Test
+    void testIsStatic() {
+        assertTrue(MessageTemplate.isStatic("<red>Hello <bold>world</bold></red>"));
+        assertTrue(MessageTemplate.isStatic("<#ff0000>Hex</#ff0000> <gradient:red:blue>text</gradient>"));
+        assertTrue(MessageTemplate.isStatic("<click:run_command:'/spawn'><hover:show_text:'Go'>Spawn</hover></click>"));
+        assertTrue(MessageTemplate.isStatic("<smallcaps>Font</smallcaps> and <quote><b>quoted</b></quote>"));
+        assertTrue(MessageTemplate.isStatic("Arguments {0} are plain text, a < b too"));
+        assertTrue(MessageTemplate.isStatic("&aLegacy &lcodes and <legacy:b>tags"));
+        assertTrue(MessageTemplate.isStatic(""));
+
+        assertFalse(MessageTemplate.isStatic("<p:rank> Hello"));
+        assertFalse(MessageTemplate.isStatic("Hello <papi:player_name>"));
+        assertFalse(MessageTemplate.isStatic("<sound:entity.player.levelup>Level up"));
+        assertFalse(MessageTemplate.isStatic("<usage>"));
+        assertFalse(MessageTemplate.isStatic("<click:run_command:'/msg <p:name>'>x</click>"));
+    }
+
+}
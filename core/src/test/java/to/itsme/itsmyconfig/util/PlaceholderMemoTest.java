@@ -0,0 +1,69 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderMemoTest {
+
+    private final List<String> resolved = new ArrayList<>();
+    private final PlaceholderMemo memo = new PlaceholderMemo(text -> {
+        resolved.add(text);
+        return text.replace("%vault_eco_balance%", "100").replace("%server_time_s%", "12");
+    });
+
+    @Test
+    void testResolvesOncePerWindow() {
+        PlaceholderMemo.configure(60_000, List.of());
+        assertEquals("100 and 100", memo.apply("%vault_eco_balance% and %vault_eco_balance%"));
+        assertEquals("Balance: 100", memo.apply("Balance: %vault_eco_balance%"));
+        assertEquals(List.of("%vault_eco_balance%"), resolved);
+    }
+
+    @Test
+    void testTextsWithoutPlaceholders() {
+        PlaceholderMemo.configure(60_000, List.of());
+        final String plain = "No placeholders";
+        assertSame(plain, memo.apply(plain));
+        assertEquals("100% and 50%", memo.apply("100% and 50%"));
+        assertEquals("50% of 100", memo.apply("50% of %vault_eco_balance%"));
+        assertEquals(List.of("%vault_eco_balance%"), resolved);
+    }
+
+    @Test
+    void testExclusions() {
+        PlaceholderMemo.configure(60_000, List.of("server_time_*", "%Player_Ping%"));
+        memo.apply("%server_time_s% %server_time_s%");
+        assertEquals(2, resolved.size());
+
+        assertTrue(PlaceholderMemo.isExcluded("player_ping"));
+        assertTrue(PlaceholderMemo.isExcluded("SERVER_TIME_hh"));
+        assertFalse(PlaceholderMemo.isExcluded("player_ping_ms"));
+        assertFalse(PlaceholderMemo.isExcluded("vault_eco_balance"));
+    }
+
+    @Test
+    void testDisabledAndReconfigured() {
+        PlaceholderMemo.configure(0, List.of());
+        assertEquals("100 100", memo.apply("%vault_eco_balance% %vault_eco_balance%"));
+        assertEquals(List.of("%vault_eco_balance% %vault_eco_balance%"), resolved);
+
+        PlaceholderMemo.configure(60_000, List.of());
+        memo.apply("%vault_eco_balance%");
+        PlaceholderMemo.configure(60_000, List.of());
+        memo.apply("%vault_eco_balance%");
+        assertEquals(3, resolved.size());
+    }
+
+    @Test
+    void testPlaceholderEnd() {
+        assertEquals(18, PlaceholderMemo.placeholderEnd("%vault_eco_balance%", 0));
+        assertEquals(11, PlaceholderMemo.placeholderEnd("%math_1 + 2%", 0));
+        assertEquals(-1, PlaceholderMemo.placeholderEnd("100% and 50%", 3));
+        assertEquals(-1, PlaceholderMemo.placeholderEnd("%unclosed_placeholder", 0));
+    }
+
+}
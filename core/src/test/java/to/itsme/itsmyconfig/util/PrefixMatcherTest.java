@@ -0,0 +1,121 @@
+package to.itsme.itsmyconfig.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixMatcherTest {
+
+    @Test
+    void testMatch() {
+        final PrefixProfile dollar = PrefixProfile.ofDefault("$");
+        final PrefixProfile bang = new PrefixProfile("bang", "$!", false, false);
+        final PrefixProfile brace = new PrefixProfile("brace", "{", true, false);
+        final PrefixMatcher matcher = new PrefixMatcher(List.of(dollar, bang, brace, new PrefixProfile("duplicate", "$", true, true)));
+
+        assertSame(dollar, matcher.profile(matcher.match("$hello", 0)));
+        assertSame(bang, matcher.profile(matcher.match("$!hello", 0)));
+        assertSame(bang, matcher.profile(matcher.match("x$!", 1)));
+        assertSame(brace, matcher.profile(matcher.match("{$}hello", 0))); // plain prefixes come first
+        assertSame(dollar, matcher.profile(matcher.match("{$}hello", 1)));
+        assertEquals(PrefixMatcher.NONE, matcher.match("hello", 0));
+        assertEquals(PrefixMatcher.NONE, matcher.match("", 0));
+
+        assertTrue(new PrefixMatcher(List.of(PrefixProfile.ofDefault(""))).isEmpty());
+    }
+
+    @Test
+    void testMatchesReference() {
+        final Random random = new Random(7);
+        final String[] parts = {"$", "!", "{", "}", "a", "ab", "é"};
+        for (int run = 0; run < 2_000; run++) {
+            final List<PrefixProfile> profiles = new ArrayList<>();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                profiles.add(new PrefixProfile("p" + i, random(random, parts, 1 + random.nextInt(3)), true, false));
+            }
+
+            // a prefix being the incognito form of another one is only registered once
+            if (profiles.stream().anyMatch(plain -> profiles.stream().anyMatch(other -> plain.prefix().equals(other.incognitoPrefix())))) {
+                continue;
+            }
+
+            final PrefixMatcher matcher = new PrefixMatcher(profiles);
+            for (int message = 0; message < 20; message++) {
+                final String text = random(random, parts, random.nextInt(10));
+                final int expected = referenceMatch(profiles, text);
+                final int actual = matcher.match(text, 0);
+                assertEquals(expected, actual == PrefixMatcher.NONE ? -1 : matcher.length(actual), () -> profiles + " / " + text);
+                assertEquals(referenceRemove(profiles, text), remove(matcher, text), () -> profiles + " / " + text);
+            }
+        }
+    }
+
+    private static String random(final Random random, final String[] parts, final int count) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(parts[random.nextInt(parts.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String remove(final PrefixMatcher matcher, final String text) {
+        final StringBuilder builder = new StringBuilder();
+        int state = PrefixMatcher.ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            builder.append(text.charAt(i));
+            state = matcher.step(state, text.charAt(i));
+            final int ended = matcher.incognitoEnd(state);
+            if (ended != PrefixMatcher.NONE) {
+                builder.setLength(builder.length() - matcher.length(ended));
+                state = PrefixMatcher.ROOT;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The length of the longest plain prefix the text starts with, or else of the longest incognito one.
+     */
+    private static int referenceMatch(final List<PrefixProfile> profiles, final String text) {
+        int plain = -1, incognito = -1;
+        for (final PrefixProfile profile : profiles) {
+            if (text.startsWith(profile.prefix())) {
+                plain = Math.max(plain, profile.prefix().length());
+            }
+            if (text.startsWith(profile.incognitoPrefix())) {
+                incognito = Math.max(incognito, profile.incognitoPrefix().length());
+            }
+        }
+        return plain != -1 ? plain : incognito;
+    }
+
+    /**
+     * Removes, left to right, the first incognito prefix to end, the longest one if several end at once.
+     */
+    private static String referenceRemove(final List<PrefixProfile> profiles, final String text) {
+        final StringBuilder builder = new StringBuilder();
+        int floor = 0;
+        for (int i = 0; i < text.length(); i++) {
+            builder.append(text.charAt(i));
+            int longest = -1;
+            for (final PrefixProfile profile : profiles) {
+                final String incognito = profile.incognitoPrefix();
+                final int start = builder.length() - incognito.length();
+                if (start >= floor && builder.indexOf(incognito, start) == start) {
+                    longest = Math.max(longest, incognito.length());
+                }
+            }
+
+            if (longest != -1) {
+                builder.setLength(builder.length() - longest);
+                floor = builder.length();
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,89 @@
+package to.itsme.itsmyconfig.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixProbeTest {
+
+    @BeforeAll
+    static void beforeAll() {
+        Strings.setSymbolPrefix("$");
+    }
+
+    @Test
+    void testComponentProbe() {
+        assertFalse(PrefixProbe.isPrefixed(null));
+        assertFalse(PrefixProbe.isPrefixed(Component.empty()));
+
+        // Plain text
+        assertTrue(PrefixProbe.isPrefixed(Component.text("$hello")));
+        assertTrue(PrefixProbe.isPrefixed(Component.text("  $hello")));
+        assertTrue(PrefixProbe.isPrefixed(Component.text("&a$hello")));
+        assertTrue(PrefixProbe.isPrefixed(Component.text("<bold>$hello")));
+        assertFalse(PrefixProbe.isPrefixed(Component.text("hello $")));
+        assertFalse(PrefixProbe.isPrefixed(Component.text("&$hello"))); // '$' is eaten as a formatting code
+
+        // Incognito prefix
+        assertTrue(PrefixProbe.isPrefixed(Component.text("{$}hello")));
+        assertFalse(PrefixProbe.isPrefixed(Component.text("{hello}")));
+
+        // Styled and nested components
+        assertTrue(PrefixProbe.isPrefixed(Component.text("$hello", NamedTextColor.RED)));
+        assertTrue(PrefixProbe.isPrefixed(Component.text()
+                .append(Component.text("", NamedTextColor.RED))
+                .append(Component.text(" $hello").decorate(TextDecoration.BOLD))
+                .build()));
+        assertFalse(PrefixProbe.isPrefixed(Component.text()
+                .append(Component.text("hello"))
+                .append(Component.text("$world"))
+                .build()));
+
+        // Prefixes split over unstyled components serialize back to back
+        Strings.setSymbolPrefix("[IMC]");
+        try {
+            assertTrue(PrefixProbe.isPrefixed(Component.text("[IM").append(Component.text("C] hello"))));
+            assertFalse(PrefixProbe.isPrefixed(Component.text("[IM").append(Component.text("C] hello", NamedTextColor.RED))));
+            assertFalse(PrefixProbe.isPrefixed(Component.text("[IM")));
+        } finally {
+            Strings.setSymbolPrefix("$");
+        }
+
+        // Translatable and keybind components are tags of their own, arguments are written after them
+        assertTrue(PrefixProbe.isPrefixed(Component.translatable("chat.type.text", Component.text("$hello"))));
+        assertFalse(PrefixProbe.isPrefixed(Component.translatable("chat.type.text", Component.text("hello"))));
+        assertTrue(PrefixProbe.isPrefixed(Component.translatable("some.key").append(Component.text("$hello"))));
+        assertTrue(PrefixProbe.isPrefixed(Component.keybind("key.jump").append(Component.text("$hello"))));
+    }
+
+    @Test
+    void testJsonProbe() {
+        assertFalse(PrefixProbe.isPrefixedJson(null));
+        assertFalse(PrefixProbe.isPrefixedJson(""));
+
+        // Plain and primitive components
+        assertTrue(PrefixProbe.isPrefixedJson("{\"text\":\"$hello\"}"));
+        assertFalse(PrefixProbe.isPrefixedJson("{\"text\":\"hello\"}"));
+        assertTrue(PrefixProbe.isPrefixedJson("\"$hello\""));
+        assertTrue(PrefixProbe.isPrefixedJson("{\"text\":\"\\u0024hello\"}")); // escaped prefix
+
+        // "text" coming after "extra", like vanilla writes it
+        assertTrue(PrefixProbe.isPrefixedJson("{\"extra\":[{\"text\":\"$hello\",\"color\":\"red\"}],\"text\":\"\"}"));
+        assertFalse(PrefixProbe.isPrefixedJson("{\"extra\":[{\"text\":\"$hello\"}],\"text\":\"Hey \"}"));
+        assertTrue(PrefixProbe.isPrefixedJson("[\"\",{\"text\":\" &a{$}hello\",\"bold\":true}]"));
+
+        // Event contents and translation arguments are written inside tags
+        assertFalse(PrefixProbe.isPrefixedJson("{\"hoverEvent\":{\"action\":\"show_text\",\"contents\":\"$no\"},\"text\":\"hello\"}"));
+        assertFalse(PrefixProbe.isPrefixedJson("{\"translate\":\"chat.type.text\",\"with\":[\"$hello\"]}"));
+        assertTrue(PrefixProbe.isPrefixedJson("{\"translate\":\"chat.type.text\",\"extra\":[\"$hello\"]}"));
+
+        // Anything unusual is left to the full parse
+        assertTrue(PrefixProbe.isPrefixedJson("not json"));
+        assertTrue(PrefixProbe.isPrefixedJson("{\"component\":{\"content\":\"hello\"}}"));
+    }
+
+}
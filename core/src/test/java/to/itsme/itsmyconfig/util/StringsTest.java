@@ -1,9 +1,12 @@
 package to.itsme.itsmyconfig.util;
 
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +54,123 @@ class StringsTest {
         assertEquals(Optional.of("  after"), Strings.parsePrefixedMessage("  $after"));
     }
 
+    @Test
+    void testPrefixIndex() {
+        assertEquals(-1, Strings.prefixIndex(null));
+        assertEquals(-1, Strings.prefixIndex(""));
+        assertEquals(0, Strings.prefixIndex("$hello"));
+        assertEquals(2, Strings.prefixIndex("&a$Green"));
+        assertEquals(6, Strings.prefixIndex("<bold>$Bold"));
+        assertEquals(1, Strings.prefixIndex(" {$}Secret"));
+        assertEquals(-1, Strings.prefixIndex("No prefix here"));
+        assertEquals(-1, Strings.prefixIndex("&$hello")); // '$' is eaten as a formatting code
+    }
+
+    @Test
+    void testAppendUnprefixed() {
+        final StringBuilder builder = new StringBuilder("kept:");
+        Strings.appendUnprefixed("&a$Green §cRed {$}hidden", 2, builder);
+        assertEquals("kept:&aGreen &cRed hidden", builder.toString());
+
+        // Nothing is matched across what was already in the buffer
+        builder.setLength(0);
+        builder.append('{');
+        Strings.appendUnprefixed("$$}", 0, builder);
+        assertEquals("{$}", builder.toString());
+    }
+
+    @Test
+    void testPrefixProfiles() {
+        final PrefixProfile noPapi = new PrefixProfile("no-papi", "$!", false, false);
+        final PrefixProfile console = new PrefixProfile("console", "#", true, true);
+        Strings.setPrefixProfiles(List.of(noPapi, console));
+        try {
+            assertEquals(3, Strings.prefixProfiles().size());
+            assertEquals(PrefixProfile.DEFAULT_NAME, Strings.prefixProfiles().get(0).name());
+
+            // The longest prefix wins
+            assertEquals(Optional.of(new PrefixedMessage("hello", PrefixProfile.ofDefault("$"))), Strings.parsePrefixed("$hello"));
+            assertEquals(Optional.of(new PrefixedMessage("hello", noPapi)), Strings.parsePrefixed("$!hello"));
+            assertEquals(Optional.of(new PrefixedMessage("&ahello", console)), Strings.parsePrefixed("&a#hello"));
+            assertEquals(Optional.of(new PrefixedMessage("hello", console)), Strings.parsePrefixed("{#}hello"));
+            assertEquals(Optional.empty(), Strings.parsePrefixed("!$hello"));
+
+            // Every incognito form is removed
+            assertEquals(Optional.of("a b c d"), Strings.parsePrefixedMessage("$a {#}b {$!}c {$}d"));
+
+            assertEquals(console, Strings.profileAt("<bold>#hello", 6));
+            assertNull(Strings.profileAt("<bold>#hello", 0));
+            assertThrows(IllegalArgumentException.class, () -> Strings.appendUnprefixed("hello", 0, new StringBuilder()));
+        } finally {
+            Strings.setPrefixProfiles(List.of());
+        }
+    }
+
+    @Test
+    void testParsePrefixedMessageMatchesReference() {
+        final Random random = new Random(42);
+        final String[] parts = {"$", "{$}", "{", "}", "§", "&", "a", " ", "<", ">", "<bold>", "§a", "{{$}$}", "text"};
+        for (int run = 0; run < 100_000; run++) {
+            final StringBuilder message = new StringBuilder();
+            for (int i = random.nextInt(8); i >= 0; i--) {
+                message.append(parts[random.nextInt(parts.length)]);
+            }
+
+            final String input = message.toString();
+            assertEquals(referenceParse(input), Strings.parsePrefixedMessage(input), () -> "Mismatch for " + input);
+        }
+    }
+
+    /**
+     * The implementation of {@link Strings#parsePrefixedMessage(String)} before it went single-pass.
+     */
+    private static Optional<String> referenceParse(final String message) {
+        if (message == null || message.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int tagDepth = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char character = message.charAt(i);
+            if (character == '&' || character == '§') {
+                i++;
+                continue;
+            }
+            if (character == '<') {
+                tagDepth++;
+                continue;
+            } else if (character == '>' && tagDepth > 0) {
+                tagDepth--;
+                continue;
+            }
+
+            if (tagDepth > 0 || Character.isWhitespace(character)) {
+                continue;
+            }
+
+            int prefixLength = -1;
+            if (message.startsWith(Strings.symbolPrefix, i)) {
+                prefixLength = Strings.symbolPrefix.length();
+            } else if (message.startsWith(Strings.incognitoPrefix, i)) {
+                prefixLength = Strings.incognitoPrefix.length();
+            }
+
+            if (prefixLength > 0) {
+                StringBuilder sb = new StringBuilder(message.length());
+                sb.append(message, 0, i);
+                for (int j = i + prefixLength; j < message.length(); j++) {
+                    char c = message.charAt(j);
+                    sb.append(c == '§' ? '&' : c);
+                }
+                return Optional.of(sb.toString().replace(Strings.incognitoPrefix, ""));
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.empty();
+    }
+
     @Test
     void testEnglishify() {
         assertEquals("A la carte", Strings.englishify("À la carte"));
@@ -118,12 +238,93 @@ class StringsTest {
         assertTrue(output2.contains("<red>should</red>")); // color tag not escaped
     }
 
+    @Test
+    void testQuoteMatchesReference() {
+        final Random random = new Random(1337);
+        final String[] parts = {
+                "<quote>", "<quote:", "<quote", "ignorecolors", "IgnoreDecorations", "ignoreclickables", ":", "\"", "<", ">",
+                "</quote>", "<red>", "<bold>", "<b:x>", "<click:run_command:/x>", "<#ff0000>", "<!italic>", "red", "text", " ", "\n"
+        };
+        for (int run = 0; run < 100_000; run++) {
+            final StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(12); i >= 0; i--) {
+                text.append(parts[random.nextInt(parts.length)]);
+            }
+
+            final String input = text.toString();
+            final String expected;
+            try {
+                expected = referenceQuote(input);
+            } catch (final RuntimeException ignored) {
+                continue; // repeated properties made Set.of throw, and empty segments could make the resolvers throw
+            }
+            assertEquals(expected, Strings.quote(input), () -> "Mismatch for " + input);
+        }
+    }
+
+    /**
+     * The implementation of {@link Strings#quote(String)} before it stopped using regexes.
+     */
+    private static String referenceQuote(final String text) {
+        final Matcher matcher = Pattern.compile("<quote(?::([^>]*))?>(.*)</quote>").matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        int lastEnd = 0;
+        matcher.reset();
+        while (matcher.find()) {
+            builder.append(text, lastEnd, matcher.start());
+            final String propertyString = matcher.group(1) != null ? matcher.group(1) : "";
+            final Set<String> properties = propertyString.isEmpty() ? Collections.emptySet() : Set.of(propertyString.toLowerCase().split(":"));
+            builder.append(referenceEscapeTags(matcher.group(2), properties));
+            lastEnd = matcher.end();
+        }
+
+        builder.append(text.substring(lastEnd));
+        return builder.toString();
+    }
+
+    private static String referenceEscapeTags(final String text, final Set<String> properties) {
+        final Matcher matcher = Pattern.compile("<(\\w+)(?::\"([^\"]*)\"|:([^<]*))*>").matcher(text);
+        final StringBuilder builder = new StringBuilder();
+        int lastEnd = 0;
+        while (matcher.find()) {
+            final String found = matcher.group();
+            final String content = found.substring(1, found.length() - 1);
+
+            boolean skip = false;
+            if (properties.contains("ignorecolors") && Arrays.stream(content.split(":")).anyMatch(split -> StandardTags.color().has(split))) {
+                skip = true;
+            } else if (properties.contains("ignoredecorations") && Arrays.stream(content.split(":")).anyMatch(split -> StandardTags.decorations().has(split))) {
+                skip = true;
+            } else if (properties.contains("ignoreclickables") && content.toLowerCase().startsWith("click")) {
+                skip = true;
+            }
+
+            builder.append(text, lastEnd, matcher.start());
+            if (!skip) {
+                builder.append('\\');
+            }
+            builder.append(found);
+            lastEnd = matcher.end();
+        }
+
+        builder.append(text.substring(lastEnd));
+        return builder.toString();
+    }
+
     @Test
     void testIsColor_and_IsDecoration() {
         assertTrue(Strings.isColor("red"));
         assertFalse(Strings.isColor("bold"));
         assertTrue(Strings.isDecoration("bold"));
         assertFalse(Strings.isDecoration("red"));
+        assertTrue(Strings.isColor("color:#ff0000"));
+        assertTrue(Strings.isColor("#ff0000"));
+        assertTrue(Strings.isDecoration("!italic"));
+        assertFalse(Strings.isColor("a::b"));
     }
 
     @Test